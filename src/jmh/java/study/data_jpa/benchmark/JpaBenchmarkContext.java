@@ -0,0 +1,42 @@
+package study.data_jpa.benchmark;
+
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import study.data_jpa.DataJpaApplication;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+- 벤치마크용 스프링 컨텍스트 - 웹 서버 없이 JPA 계층만 내장 H2 로 띄움
+- application.properties 보다 우선하도록 커맨드라인 인자(--key=value)로 넘김
+ */
+public final class JpaBenchmarkContext {
+
+    private JpaBenchmarkContext() {
+    }
+
+    public static ConfigurableApplicationContext start(String database, String... properties) {
+        List<String> args = new ArrayList<>(List.of(
+                "--spring.main.banner-mode=off",
+                "--spring.datasource.url=jdbc:h2:mem:" + database + ";MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+                "--spring.datasource.driverClassName=org.h2.Driver",
+                "--spring.datasource.username=sa",
+                "--spring.datasource.password=",
+                "--spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+                "--spring.jpa.properties.hibernate.show_sql=false",
+                "--logging.level.root=warn",
+                "--logging.level.org.hibernate.SQL=warn",
+                "--logging.level.org.hibernate.type.descriptor.sql=warn",
+                "--logging.level.org.hibernate.orm.jdbc=warn",
+                "--logging.level.org.hibernate.orm.jdbc.bind=warn",
+                "--logging.level.org.hibernate.orm.jdbc.extract=warn"));
+        for (String property : properties) {
+            args.add("--" + property);
+        }
+        return new SpringApplicationBuilder(DataJpaApplication.class)
+                .web(WebApplicationType.NONE)
+                .run(args.toArray(String[]::new));
+    }
+}
@@ -0,0 +1,138 @@
+package study.data_jpa.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import study.data_jpa.dto.MemberDto;
+import study.data_jpa.entity.Member;
+import study.data_jpa.entity.Team;
+import study.data_jpa.repository.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+- 회원 + 팀 조회 방식별 처리량/지연시간/할당량 비교
+- 모든 회원의 username 을 "member" 로 맞춰서 username 조건 조회도 전체 행을 읽도록 함
+- 지연 로딩이 동작하도록 모든 조회는 읽기 전용 트랜잭션 안에서 실행
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class MemberFetchBenchmark {
+
+    @Param({"100", "10000"})
+    int members;
+
+    @Param({"10"})
+    int teams;
+
+    ConfigurableApplicationContext context;
+    MemberRepository memberRepository;
+    TransactionTemplate readOnly;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = JpaBenchmarkContext.start("fetch");
+        memberRepository = context.getBean(MemberRepository.class);
+        readOnly = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        readOnly.setReadOnly(true);
+
+        //MemberController.init() 가 넣은 데이터 제거 후 크기에 맞게 다시 적재
+        memberRepository.deleteAllInBatch();
+        context.getBean(TeamRepository.class).deleteAllInBatch();
+
+        MemberBulkWriter writer = context.getBean(MemberBulkWriter.class);
+        List<Team> teamList = new ArrayList<>();
+        for (int i = 0; i < teams; i++) {
+            teamList.add(new Team("team" + i));
+        }
+        writer.saveAllTeams(teamList);
+        List<Member> memberList = new ArrayList<>();
+        for (int i = 0; i < members; i++) {
+            memberList.add(new Member("member", i % 100, teamList.get(i % teams)));
+        }
+        writer.saveAll(memberList);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public void findAllEntityGraph(Blackhole bh) {
+        readOnly.executeWithoutResult(status -> {
+            for (Member member : memberRepository.findAll()) {
+                bh.consume(member.getTeam().getName());
+            }
+        });
+    }
+
+    @Benchmark
+    public void findMemberFetchJoin(Blackhole bh) {
+        readOnly.executeWithoutResult(status -> {
+            for (Member member : memberRepository.findMemberFetchJoin()) {
+                bh.consume(member.getTeam().getName());
+            }
+        });
+    }
+
+    @Benchmark
+    public void findMemberEntityGraph(Blackhole bh) {
+        readOnly.executeWithoutResult(status -> {
+            for (Member member : memberRepository.findMemberEntityGraph()) {
+                bh.consume(member.getTeam().getName());
+            }
+        });
+    }
+
+    @Benchmark
+    public void findMemberDTO(Blackhole bh) {
+        readOnly.executeWithoutResult(status -> {
+            for (MemberDto dto : memberRepository.findMemberDTO()) {
+                bh.consume(dto.getTeamName());
+            }
+        });
+    }
+
+    @Benchmark
+    public void interfaceProjection(Blackhole bh) {
+        readOnly.executeWithoutResult(status -> {
+            for (UsernameOnly projection : memberRepository.findProjectionsByUsername("member", UsernameOnly.class)) {
+                bh.consume(projection.getUsername());
+            }
+        });
+    }
+
+    @Benchmark
+    public void nestedInterfaceProjection(Blackhole bh) {
+        readOnly.executeWithoutResult(status -> {
+            for (NestedClosedProject projection : memberRepository.findProjectionsByUsername("member", NestedClosedProject.class)) {
+                bh.consume(projection.getTeam().getName());
+            }
+        });
+    }
+
+    @Benchmark
+    public void classProjection(Blackhole bh) {
+        readOnly.executeWithoutResult(status -> {
+            for (UsernameOnlyDto dto : memberRepository.findProjectionsByUsername("member", UsernameOnlyDto.class)) {
+                bh.consume(dto.getUsername());
+            }
+        });
+    }
+
+    @Benchmark
+    public void nativeProjection(Blackhole bh) {
+        readOnly.executeWithoutResult(status -> {
+            for (MemberProjection projection : memberRepository.findByNativeProjection(PageRequest.of(0, members))) {
+                bh.consume(projection.getTeamName());
+            }
+        });
+    }
+}
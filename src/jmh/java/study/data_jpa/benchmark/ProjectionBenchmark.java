@@ -0,0 +1,173 @@
+package study.data_jpa.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.projection.SpelAwareProxyProjectionFactory;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import study.data_jpa.dto.MemberDto;
+import study.data_jpa.entity.Member;
+import study.data_jpa.entity.Team;
+import study.data_jpa.repository.*;
+
+import java.lang.reflect.Constructor;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+- 프로젝션 방식별 행 하나당 처리량/할당량 (@OperationsPerInvocation 으로 행 수만큼 나눔, gc.alloc.rate.norm = 행당 바이트)
+- 인터페이스 프로젝션(프록시) / 생성자 표현식 DTO vs record + ProjectionMapper
+- *Only 벤치마크는 DB 조회 없이 이미 읽은 행을 변환하는 비용만 비교
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class ProjectionBenchmark {
+
+    static final int ROWS = 10_000;
+
+    ConfigurableApplicationContext context;
+    MemberRepository memberRepository;
+    TransactionTemplate readOnly;
+
+    //변환만 비교할 때 쓰는 행 (id, username, teamName)
+    List<Object[]> rows;
+    List<Map<String, Object>> tupleMaps;
+    SpelAwareProxyProjectionFactory projectionFactory;
+    ProjectionMapper<MemberRecord> recordMapper;
+    Constructor<MemberDto> dtoConstructor;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        context = JpaBenchmarkContext.start("projection");
+        memberRepository = context.getBean(MemberRepository.class);
+        readOnly = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        readOnly.setReadOnly(true);
+
+        memberRepository.deleteAllInBatch();
+        context.getBean(TeamRepository.class).deleteAllInBatch();
+        MemberBulkWriter writer = context.getBean(MemberBulkWriter.class);
+        Team team = new Team("teamA");
+        writer.saveAllTeams(List.of(team));
+        List<Member> members = new ArrayList<>();
+        for (int i = 0; i < ROWS; i++) {
+            members.add(new Member("member", i % 100, team)); //username 조건이 전체 행과 일치
+        }
+        writer.saveAll(members);
+
+        rows = new ArrayList<>(ROWS);
+        tupleMaps = new ArrayList<>(ROWS);
+        for (int i = 0; i < ROWS; i++) {
+            rows.add(new Object[]{(long) i, "member", "teamA"});
+            tupleMaps.add(Map.of("id", (long) i, "username", "member", "teamName", "teamA"));
+        }
+        projectionFactory = new SpelAwareProxyProjectionFactory();
+        recordMapper = ProjectionMapper.of(MemberRecord.class);
+        dtoConstructor = MemberDto.class.getConstructor(Long.class, String.class, String.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public void interfaceProjection(Blackhole bh) {
+        readOnly.executeWithoutResult(status -> {
+            for (UsernameOnly projection : memberRepository.findProjectionsByUsername("member", UsernameOnly.class)) {
+                bh.consume(projection.getUsername());
+            }
+        });
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public void recordProjection(Blackhole bh) {
+        readOnly.executeWithoutResult(status -> {
+            for (UsernameRecord record : memberRepository.findProjectionsByUsername("member", UsernameRecord.class)) {
+                bh.consume(record.username());
+            }
+        });
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public void nestedInterfaceProjection(Blackhole bh) {
+        readOnly.executeWithoutResult(status -> {
+            for (NestedClosedProject projection : memberRepository.findProjectionsByUsername("member", NestedClosedProject.class)) {
+                bh.consume(projection.getTeam().getName());
+            }
+        });
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public void memberRecordProjection(Blackhole bh) {
+        readOnly.executeWithoutResult(status -> {
+            for (MemberRecord record : memberRepository.findProjectionsByUsername("member", MemberRecord.class)) {
+                bh.consume(record.teamName());
+            }
+        });
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public void constructorExpressionDto(Blackhole bh) {
+        readOnly.executeWithoutResult(status -> {
+            for (MemberDto dto : memberRepository.findMemberDTO()) {
+                bh.consume(dto.getTeamName());
+            }
+        });
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public void nativeInterfaceProjection(Blackhole bh) {
+        readOnly.executeWithoutResult(status -> {
+            for (MemberProjection projection : memberRepository.findByNativeProjection(PageRequest.of(0, ROWS))) {
+                bh.consume(projection.getTeamName());
+            }
+        });
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public void nativeRecord(Blackhole bh) {
+        readOnly.executeWithoutResult(status -> {
+            for (MemberRecord record : memberRepository.findAllNative(MemberRecord.class, PageRequest.of(0, ROWS))) {
+                bh.consume(record.teamName());
+            }
+        });
+    }
+
+    //스프링 데이터가 하는 것처럼 Map 위에 프록시를 씌우고 getter 호출
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public void proxyMappingOnly(Blackhole bh) {
+        for (Map<String, Object> tuple : tupleMaps) {
+            bh.consume(projectionFactory.createProjection(MemberProjection.class, tuple).getTeamName());
+        }
+    }
+
+    //Hibernate 생성자 표현식처럼 행마다 Constructor.newInstance
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public void reflectionMappingOnly(Blackhole bh) throws Exception {
+        for (Object[] row : rows) {
+            bh.consume(dtoConstructor.newInstance(row).getTeamName());
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public void recordMappingOnly(Blackhole bh) {
+        for (Object[] row : rows) {
+            bh.consume(recordMapper.map(row).teamName());
+        }
+    }
+}
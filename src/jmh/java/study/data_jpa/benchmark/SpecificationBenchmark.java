@@ -0,0 +1,87 @@
+package study.data_jpa.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import study.data_jpa.entity.Member;
+import study.data_jpa.entity.Team;
+import study.data_jpa.repository.CompilableSpecification;
+import study.data_jpa.repository.MemberBulkWriter;
+import study.data_jpa.repository.MemberRepository;
+import study.data_jpa.repository.MemberSpec;
+import study.data_jpa.repository.MemberSpecCompiler;
+import study.data_jpa.repository.TeamRepository;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+- findAll(spec) (매번 Criteria 생성 + SQL 변환) vs findAllCompiled(spec) (모양별 JPQL 재사용, 값만 바인딩)
+- 결과가 1건이 되도록 해서 조회 비용보다 변환 비용이 드러나게 함
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class SpecificationBenchmark {
+
+    static final int MEMBERS = 1000;
+
+    ConfigurableApplicationContext context;
+    MemberRepository memberRepository;
+    MemberSpecCompiler memberSpecCompiler;
+    TransactionTemplate readOnly;
+    int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = JpaBenchmarkContext.start("specification");
+        memberRepository = context.getBean(MemberRepository.class);
+        memberSpecCompiler = context.getBean(MemberSpecCompiler.class);
+        readOnly = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        readOnly.setReadOnly(true);
+
+        memberRepository.deleteAllInBatch();
+        context.getBean(TeamRepository.class).deleteAllInBatch();
+        MemberBulkWriter writer = context.getBean(MemberBulkWriter.class);
+        Team team = new Team("teamA");
+        writer.saveAllTeams(List.of(team));
+        List<Member> members = new ArrayList<>();
+        for (int i = 0; i < MEMBERS; i++) {
+            members.add(new Member("member" + i, i % 100, team));
+        }
+        writer.saveAll(members);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        System.out.printf("%nspecification cache hit rate %.3f, size %d%n", memberSpecCompiler.getHitRate(), memberSpecCompiler.size());
+        context.close();
+    }
+
+    //값이 매번 달라지는 같은 모양의 조건
+    private CompilableSpecification nextSpec() {
+        next = (next + 1) % MEMBERS;
+        return MemberSpec.username("member" + next).and(MemberSpec.teamName("teamA"));
+    }
+
+    @Benchmark
+    public void findAllSpecification(Blackhole bh) {
+        CompilableSpecification spec = nextSpec();
+        readOnly.executeWithoutResult(status -> bh.consume(memberRepository.findAll(spec)));
+    }
+
+    @Benchmark
+    public void findAllCompiled(Blackhole bh) {
+        CompilableSpecification spec = nextSpec();
+        readOnly.executeWithoutResult(status -> bh.consume(memberRepository.findAllCompiled(spec)));
+    }
+
+    //DB 조회 없이 변환 비용만 - 캐시된 JPQL 조회
+    @Benchmark
+    public String compileOnly() {
+        return memberSpecCompiler.compile(nextSpec());
+    }
+}
@@ -5,12 +5,17 @@ import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.context.annotation.Bean;
 import org.springframework.data.domain.AuditorAware;
 import org.springframework.data.jpa.repository.config.EnableJpaAuditing;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.scheduling.annotation.EnableAsync;
+import study.data_jpa.audit.AuditorContext;
+import study.data_jpa.repository.ReadOnlyQueryRepositoryFactoryBean;
 
 import java.util.Optional;
-import java.util.UUID;
 
 @SpringBootApplication
 @EnableJpaAuditing
+@EnableJpaRepositories(repositoryFactoryBeanClass = ReadOnlyQueryRepositoryFactoryBean.class) //@ReadOnlyQuery 지원
+@EnableAsync
 public class DataJpaApplication {
 
 	public static void main(String[] args) {
@@ -18,7 +23,7 @@ public class DataJpaApplication {
 	}
 	@Bean
 	public AuditorAware<String> auditorProvider() {
-		return () -> Optional.of(UUID.randomUUID().toString());
-	} //현재 사용자 정보를 알려주는 방법이 있어야, 누가 작성했는지, 수정했는지 기록할 수 있음
+		return () -> Optional.of(AuditorContext.current());
+	} //현재 사용자 정보를 알려주는 방법이 있어야, 누가 작성했는지, 수정했는지 기록할 수 있음 - 요청 헤더(AuditorFilter), 없으면 system
 
 }
@@ -0,0 +1,16 @@
+package study.data_jpa.audit;
+
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class AuditConfig {
+
+    @Bean
+    public FilterRegistrationBean<AuditorFilter> auditorFilter() {
+        FilterRegistrationBean<AuditorFilter> registration = new FilterRegistrationBean<>(new AuditorFilter());
+        registration.addUrlPatterns("/*");
+        return registration;
+    }
+}
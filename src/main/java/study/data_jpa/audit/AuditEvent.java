@@ -0,0 +1,27 @@
+package study.data_jpa.audit;
+
+import lombok.Getter;
+import lombok.ToString;
+
+import java.time.LocalDateTime;
+
+//감사 로그 한 줄 - 커밋 시점에 만들어서 AuditLogWriter 큐에 넣음
+@Getter
+@ToString
+public class AuditEvent {
+    private final String entityType;
+    private final Long entityId;
+    private final String action;
+    private final String changes;
+    private final String auditor;
+    private final LocalDateTime occurredAt;
+
+    public AuditEvent(String entityType, Long entityId, String action, String changes, String auditor) {
+        this.entityType = entityType;
+        this.entityId = entityId;
+        this.action = action;
+        this.changes = changes;
+        this.auditor = auditor;
+        this.occurredAt = LocalDateTime.now();
+    }
+}
@@ -0,0 +1,113 @@
+package study.data_jpa.audit;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostCommitDeleteEventListener;
+import org.hibernate.event.spi.PostCommitInsertEventListener;
+import org.hibernate.event.spi.PostCommitUpdateEventListener;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.stereotype.Component;
+import study.data_jpa.entity.Member;
+import study.data_jpa.entity.Team;
+
+import java.time.temporal.Temporal;
+import java.util.StringJoiner;
+
+/**
+- 커밋된 Member, Team 의 insert/update/delete 를 AuditLogWriter 로 보냄 (롤백된 변경은 기록하지 않음)
+- 벌크 수정(JPQL update), StatelessSession 쓰기는 이벤트가 없으므로 기록되지 않음
+ */
+@Component
+@RequiredArgsConstructor
+public class AuditEventListener implements PostCommitInsertEventListener, PostCommitDeleteEventListener,
+        PostCommitUpdateEventListener {
+
+    private static final int MAX_CHANGES_LENGTH = 1000;
+
+    private final EntityManagerFactory entityManagerFactory;
+    private final AuditLogWriter auditLogWriter;
+
+    @PostConstruct
+    public void register() {
+        EventListenerRegistry registry = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getServiceRegistry().getService(EventListenerRegistry.class);
+        registry.appendListeners(EventType.POST_COMMIT_INSERT, this);
+        registry.appendListeners(EventType.POST_COMMIT_DELETE, this);
+        registry.appendListeners(EventType.POST_COMMIT_UPDATE, this);
+    }
+
+    @Override
+    public void onPostInsert(PostInsertEvent event) {
+        append(event.getPersister(), event.getId(), "INSERT", null);
+    }
+
+    @Override
+    public void onPostDelete(PostDeleteEvent event) {
+        append(event.getPersister(), event.getId(), "DELETE", null);
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        append(event.getPersister(), event.getId(), "UPDATE", changes(event));
+    }
+
+    //바뀐 속성 - 단순 값이면 "이름: 이전 -> 이후", 연관관계 등은 이름만
+    private String changes(PostUpdateEvent event) {
+        int[] dirty = event.getDirtyProperties();
+        if (dirty == null) {
+            return null;
+        }
+        String[] names = event.getPersister().getPropertyNames();
+        Object[] oldState = event.getOldState();
+        StringJoiner joiner = new StringJoiner(", ");
+        for (int index : dirty) {
+            Object after = event.getState()[index];
+            Object before = oldState == null ? null : oldState[index];
+            if (oldState != null && isSimple(before) && isSimple(after)) {
+                joiner.add(names[index] + ": " + before + " -> " + after);
+            } else {
+                joiner.add(names[index]);
+            }
+        }
+        String changes = joiner.toString();
+        return changes.length() > MAX_CHANGES_LENGTH ? changes.substring(0, MAX_CHANGES_LENGTH) : changes;
+    }
+
+    private boolean isSimple(Object value) {
+        return value == null || value instanceof Number || value instanceof CharSequence
+                || value instanceof Boolean || value instanceof Temporal || value instanceof Enum<?>;
+    }
+
+    private void append(EntityPersister persister, Object id, String action, String changes) {
+        if (!requiresPostCommitHandling(persister)) {
+            return; //리스너는 모든 엔티티의 커밋 이벤트를 받음
+        }
+        auditLogWriter.append(new AuditEvent(persister.getMappedClass().getSimpleName(),
+                id instanceof Long longId ? longId : null, action, changes, AuditorContext.current()));
+    }
+
+    @Override
+    public void onPostInsertCommitFailed(PostInsertEvent event) {
+    }
+
+    @Override
+    public void onPostDeleteCommitFailed(PostDeleteEvent event) {
+    }
+
+    @Override
+    public void onPostUpdateCommitFailed(PostUpdateEvent event) {
+    }
+
+    @Override
+    public boolean requiresPostCommitHandling(EntityPersister persister) {
+        Class<?> type = persister.getMappedClass();
+        return Member.class.equals(type) || Team.class.equals(type);
+    }
+}
@@ -0,0 +1,228 @@
+package study.data_jpa.audit;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+- 감사 로그를 크기가 정해진 큐에 모았다가 별도 스레드가 batchSize 개씩 JDBC 배치 insert (요청 스레드는 큐에 넣기만 함)
+- 큐가 가득 차면 offerTimeout 만큼 기다리고(backpressure), 그래도 자리가 없으면 호출한 스레드에서 직접 기록
+- 기록에 실패한 배치는 버리지 않고 retryBackoff 부터 두 배씩 늘려가며 maxRetries 번 다시 시도, 그래도 실패하면 ERROR 로그로 남기고(spill) audit.log.dropped 증가
+- 종료(stop) 시 큐에 남은 로그를 모두 기록한 뒤 DataSource 가 닫힘 (SmartLifecycle 은 빈 소멸보다 먼저 멈춤) - 마지막 drain 은 stop 을 호출한 스레드 하나만
+- 트랜잭션 커밋 이후에 호출되므로 스프링 트랜잭션에 묶인 커넥션이 아닌 DataSource 의 새 커넥션을 사용
+ */
+@Slf4j
+@Component
+public class AuditLogWriter implements SmartLifecycle {
+
+    private static final String INSERT_SQL = "insert into audit_log (entity_type, entity_id, action, changes, auditor, occurred_at) " +
+            "values (?, ?, ?, ?, ?, ?)";
+    private static final Duration MAX_RETRY_BACKOFF = Duration.ofSeconds(5);
+
+    private enum State { NEW, RUNNING, STOPPING, STOPPED }
+
+    private final DataSource dataSource;
+    private final BlockingQueue<AuditEvent> queue;
+    private final int batchSize;
+    private final Duration flushInterval;
+    private final Duration offerTimeout;
+    private final int maxRetries;
+    private final Duration retryBackoff;
+    private final Counter written;
+    private final Counter synchronousWrites;
+    private final Counter retries;
+    private final Counter dropped;
+
+    private final AtomicReference<State> state = new AtomicReference<>(State.NEW);
+    private Thread worker;
+
+    public AuditLogWriter(DataSource dataSource, MeterRegistry registry,
+                          @Value("${data-jpa.audit.queue-capacity:10000}") int queueCapacity,
+                          @Value("${data-jpa.audit.batch-size:500}") int batchSize,
+                          @Value("${data-jpa.audit.flush-interval:200ms}") Duration flushInterval,
+                          @Value("${data-jpa.audit.offer-timeout:50ms}") Duration offerTimeout,
+                          @Value("${data-jpa.audit.max-retries:5}") int maxRetries,
+                          @Value("${data-jpa.audit.retry-backoff:100ms}") Duration retryBackoff) {
+        this.dataSource = dataSource;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.batchSize = batchSize;
+        this.flushInterval = flushInterval;
+        this.offerTimeout = offerTimeout;
+        this.maxRetries = maxRetries;
+        this.retryBackoff = retryBackoff;
+        this.written = Counter.builder("audit.log.written").register(registry);
+        this.synchronousWrites = Counter.builder("audit.log.synchronous").register(registry);
+        this.retries = Counter.builder("audit.log.retries").register(registry);
+        this.dropped = Counter.builder("audit.log.dropped").register(registry);
+        Gauge.builder("audit.log.queue.size", queue, BlockingQueue::size).register(registry);
+    }
+
+    //커밋 이후 리스너에서 호출 - 기록에 실패해도 예외를 던지지 않음 (비즈니스 트랜잭션은 이미 커밋됨)
+    public void append(AuditEvent event) {
+        if (state.get() == State.RUNNING) {
+            try {
+                if (queue.offer(event, offerTimeout.toMillis(), TimeUnit.MILLISECONDS)) {
+                    //넣는 사이에 stop 이 시작됐으면 마지막 drain 이 이미 지나갔을 수 있음 - 아직 큐에 있으면 꺼내서 직접 기록
+                    if (state.get() == State.RUNNING || !queue.remove(event)) {
+                        return;
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        //큐가 가득 찼거나 멈춘 상태 - 호출한 스레드에서 바로 기록 (재시도 없이 한 번)
+        synchronousWrites.increment();
+        try {
+            write(List.of(event));
+        } catch (RuntimeException e) {
+            spill(List.of(event), e);
+        }
+    }
+
+    //큐에 남은 로그를 지금 모두 기록
+    public void flush() {
+        List<AuditEvent> batch = new ArrayList<>(batchSize);
+        while (queue.drainTo(batch, batchSize) > 0) {
+            writeWithRetry(batch);
+            batch.clear();
+        }
+    }
+
+    private void run() {
+        List<AuditEvent> batch = new ArrayList<>(batchSize);
+        while (state.get() == State.RUNNING) {
+            try {
+                AuditEvent first = queue.poll(flushInterval.toMillis(), TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+                writeWithRetry(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    //실패하면 같은 배치를 백오프하며 다시 시도, 끝까지 실패하면 spill
+    private void writeWithRetry(List<AuditEvent> batch) {
+        long backoff = retryBackoff.toMillis();
+        for (int attempt = 0; ; attempt++) {
+            try {
+                write(batch);
+                return;
+            } catch (RuntimeException e) {
+                if (attempt >= maxRetries) {
+                    spill(batch, e);
+                    return;
+                }
+                log.warn("감사 로그 {}건 기록 실패, {}ms 후 다시 시도 ({}/{})", batch.size(), backoff, attempt + 1, maxRetries, e);
+                retries.increment();
+                try {
+                    Thread.sleep(backoff);
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    spill(batch, e);
+                    return;
+                }
+                backoff = Math.min(backoff * 2, MAX_RETRY_BACKOFF.toMillis());
+            }
+        }
+    }
+
+    //DB 에 기록하지 못한 로그는 로그 파일에라도 남김
+    private void spill(List<AuditEvent> events, RuntimeException cause) {
+        dropped.increment(events.size());
+        log.error("감사 로그 {}건을 DB 에 기록하지 못함", events.size(), cause);
+        for (AuditEvent event : events) {
+            log.error("감사 로그 유실: {}", event);
+        }
+    }
+
+    private void write(List<AuditEvent> events) {
+        if (events.isEmpty()) {
+            return;
+        }
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setAutoCommit(false);
+            try (PreparedStatement statement = connection.prepareStatement(INSERT_SQL)) {
+                for (AuditEvent event : events) {
+                    statement.setString(1, event.getEntityType());
+                    if (event.getEntityId() == null) {
+                        statement.setNull(2, Types.BIGINT);
+                    } else {
+                        statement.setLong(2, event.getEntityId());
+                    }
+                    statement.setString(3, event.getAction());
+                    statement.setString(4, event.getChanges());
+                    statement.setString(5, event.getAuditor());
+                    statement.setTimestamp(6, Timestamp.valueOf(event.getOccurredAt()));
+                    statement.addBatch();
+                }
+                statement.executeBatch();
+                connection.commit();
+            } catch (SQLException e) {
+                connection.rollback();
+                throw e;
+            }
+            written.increment(events.size());
+        } catch (SQLException e) {
+            throw new IllegalStateException("감사 로그 기록 실패: " + events.size() + "건", e);
+        }
+    }
+
+    @Override
+    public void start() {
+        if (!state.compareAndSet(State.NEW, State.RUNNING)) {
+            return;
+        }
+        worker = new Thread(this::run, "audit-log-writer");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    //마지막 drain 은 RUNNING -> STOPPING 으로 바꾼 스레드 하나만 실행
+    @Override
+    public void stop() {
+        if (!state.compareAndSet(State.RUNNING, State.STOPPING)) {
+            return;
+        }
+        if (worker != null) {
+            try {
+                worker.join(flushInterval.toMillis() * 2 + 5000); //진행 중인 배치가 끝날 때까지
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        flush();
+        state.set(State.STOPPED);
+    }
+
+    @Override
+    public boolean isRunning() {
+        return state.get() == State.RUNNING;
+    }
+}
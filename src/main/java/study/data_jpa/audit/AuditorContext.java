@@ -0,0 +1,28 @@
+package study.data_jpa.audit;
+
+/**
+- 현재 요청의 사용자 - AuditorAware(createdBy, lastModifiedBy)와 감사 로그에서 사용
+- ThreadLocal 조회만 하므로 저장할 때마다 드는 비용이 없고 스레드 간 경합도 없음 (이전: 매번 UUID.randomUUID())
+ */
+public final class AuditorContext {
+
+    public static final String SYSTEM = "system";
+
+    private static final ThreadLocal<String> AUDITOR = new ThreadLocal<>();
+
+    private AuditorContext() {
+    }
+
+    public static String current() {
+        String auditor = AUDITOR.get();
+        return auditor != null ? auditor : SYSTEM;
+    }
+
+    public static void set(String auditor) {
+        AUDITOR.set(auditor);
+    }
+
+    public static void clear() {
+        AUDITOR.remove();
+    }
+}
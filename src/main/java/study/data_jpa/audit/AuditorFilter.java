@@ -0,0 +1,33 @@
+package study.data_jpa.audit;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.util.StringUtils;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+//요청 헤더의 사용자 id 를 AuditorContext 에 설정 (인증을 붙이면 SecurityContext 의 사용자로 교체)
+public class AuditorFilter extends OncePerRequestFilter {
+
+    static final String HEADER = "X-User-Id";
+    static final int MAX_LENGTH = 50;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String auditor = request.getHeader(HEADER);
+        if (!StringUtils.hasText(auditor)) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        AuditorContext.set(auditor.length() > MAX_LENGTH ? auditor.substring(0, MAX_LENGTH) : auditor);
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            AuditorContext.clear();
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package study.data_jpa.controller;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+import study.data_jpa.dto.CacheRegionStatsDto;
+import study.data_jpa.service.CacheStatsService;
+
+import java.util.List;
+
+@RestController
+@RequiredArgsConstructor
+public class CacheController {
+
+    private final CacheStatsService cacheStatsService;
+
+    @GetMapping("/cache/stats")
+    public List<CacheRegionStatsDto> stats() {
+        return cacheStatsService.regions();
+    }
+}
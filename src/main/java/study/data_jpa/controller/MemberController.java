@@ -1,29 +1,61 @@
 package study.data_jpa.controller;
 
 import jakarta.annotation.PostConstruct;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.*;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+import study.data_jpa.dto.CountedPageDto;
+import study.data_jpa.dto.MemberDashboardDto;
 import study.data_jpa.dto.MemberDto;
+import study.data_jpa.dto.MemberScrollDto;
 import study.data_jpa.entity.Member;
+import study.data_jpa.repository.MemberBulkWriter;
+import study.data_jpa.repository.MemberCursor;
+import study.data_jpa.repository.MemberFields;
+import study.data_jpa.repository.MemberProjection;
 import study.data_jpa.repository.MemberRepository;
+import study.data_jpa.repository.UsernameOnly;
+import study.data_jpa.service.CountMode;
+import study.data_jpa.service.MemberBatchLoader;
+import study.data_jpa.service.MemberCountService;
+import study.data_jpa.service.MemberDashboardService;
+import study.data_jpa.service.MemberExportService;
+import study.data_jpa.service.MemberMultiKeyLookup;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequiredArgsConstructor
 public class MemberController {
 
+    private static final int MAX_SCROLL_SIZE = 2000; //spring.data.web.pageable.max-page-size 와 동일
+    private static final int MAX_SEARCH_SIZE = 50;
+
     private final MemberRepository memberRepository;
+    private final MemberExportService memberExportService;
+    private final MemberBulkWriter memberBulkWriter;
+    private final MemberDashboardService memberDashboardService;
+    private final MemberCountService memberCountService;
+    private final MemberBatchLoader memberBatchLoader;
+    private final MemberMultiKeyLookup memberMultiKeyLookup;
 
+    //동시에 들어온 단건 조회는 MemberBatchLoader 가 in (...) 한 번으로 묶어서 조회
     @GetMapping("/members/{id}")
     public String findById(@PathVariable("id") Long id) {
-        Member member = memberRepository.findById(id).get();
+        Member member = memberBatchLoader.findById(id).get();
         return member.getUsername();
     }
+    //도메인 클래스 컨버터 - MemberConverter (MemberBatchLoader 사용)
     @GetMapping("/members2/{id}")
     public String findMember2(@PathVariable("id") Member member) {
         return member.getUsername();
@@ -36,10 +68,94 @@ public class MemberController {
         return map;
         //Page Request 객체를 생성해서
     }
+    //fields=id,username,team.name - 요청한 컬럼만 조회 (team.name 이 있을 때만 조인), 엔티티를 만들지 않음 / count 기본값 NONE (count 쿼리 없음)
+    @GetMapping(value = "/members", params = "fields")
+    public CountedPageDto<Map<String, Object>> listFields(@RequestParam("fields") String fields,
+                                                          @RequestParam(value = "count", defaultValue = "NONE") CountMode count,
+                                                          @PageableDefault(size = 5) Pageable pageable) {
+        MemberFields selection;
+        try {
+            selection = MemberFields.parse(fields, pageable.getSort());
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage(), e);
+        }
+        Slice<Map<String, Object>> slice = memberRepository.findFields(selection, pageable);
+        return memberCountService.page(slice, row -> row, count, null);
+    }
+    //ids=1,2,3 - 요청한 id 순서대로 (없는 id 는 제외), 많으면 청크로 나눠서 조회 / fields 와 같이 오면 listFields (핸들러 모호성 방지)
+    @GetMapping(value = "/members", params = {"ids", "!fields"})
+    public List<MemberDto> findByIds(@RequestParam("ids") List<Long> ids) {
+        try {
+            return memberMultiKeyLookup.findByIds(ids).stream().map(MemberDto::new).toList();
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage(), e);
+        }
+    }
+    //page=N 대신 이전 응답의 nextCursor 를 넘겨서 다음 페이지 조회 (Keyset 페이징)
+    @GetMapping("/members/scroll")
+    public MemberScrollDto scroll(@RequestParam(value = "cursor", required = false) String cursor,
+                                  @RequestParam(value = "order", defaultValue = "USERNAME") MemberCursor.Order order,
+                                  @RequestParam(value = "size", defaultValue = "10") int size) {
+        MemberCursor start;
+        try {
+            start = cursor == null ? MemberCursor.first(order) : MemberCursor.decode(cursor);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage(), e);
+        }
+        Limit limit = Limit.of(Math.max(1, Math.min(size, MAX_SCROLL_SIZE)));
+        Window<Member> window = memberRepository.scroll(start.getOrder(), start.getPosition(), limit);
+
+        String nextCursor = null;
+        if (window.hasNext() && !window.isEmpty()) {
+            nextCursor = MemberCursor.encode(start.getOrder(), window.positionAt(window.size() - 1));
+        }
+        return new MemberScrollDto(window.map(MemberDto::new).getContent(), nextCursor, window.hasNext());
+    }
+    //이름 자동완성 - prefix 로 시작하는 이름 (중복 제거, 이름순)
+    @GetMapping("/members/search")
+    public List<String> search(@RequestParam("prefix") String prefix,
+                               @RequestParam(value = "size", defaultValue = "10") int size) {
+        if (prefix.isBlank()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "prefix 는 비어 있을 수 없습니다");
+        }
+        Limit limit = Limit.of(Math.max(1, Math.min(size, MAX_SEARCH_SIZE)));
+        return memberRepository.findDistinctByUsernameStartingWithOrderByUsernameAsc(prefix, limit).stream()
+                .map(UsernameOnly::getUsername)
+                .toList();
+    }
+    //count=EXACT|CACHED|APPROXIMATE|NONE - 전체 건수를 구하는 방법 (응답의 totalExact 로 추정치 여부 확인)
+    @GetMapping("/members/by-age")
+    public CountedPageDto<MemberDto> findByAge(@RequestParam(value = "age", defaultValue = "10") int age,
+                                               @RequestParam(value = "count", defaultValue = "EXACT") CountMode count,
+                                               @PageableDefault(size = 5) Pageable pageable) {
+        Slice<Member> slice = memberRepository.findSliceByAge(age, pageable);
+        return memberCountService.page(slice, MemberDto::new, count, age);
+    }
+    @GetMapping("/members/projections")
+    public CountedPageDto<MemberProjection> projections(@RequestParam(value = "count", defaultValue = "EXACT") CountMode count,
+                                                        @PageableDefault(size = 5) Pageable pageable) {
+        Slice<MemberProjection> slice = memberRepository.findSliceByNativeProjection(pageable);
+        return memberCountService.page(slice, projection -> projection, count, null);
+    }
+    //회원 페이지 + 전체 수 + 팀 요약 + 나이 분포를 한 번에 (조회는 병렬 실행)
+    @GetMapping("/members/dashboard")
+    public MemberDashboardDto dashboard(@RequestParam(value = "age", defaultValue = "10") int age,
+                                        @PageableDefault(size = 5) Pageable pageable) {
+        return memberDashboardService.dashboard(age, pageable);
+    }
+    //전체 회원을 한 줄에 하나씩 JSON(NDJSON)으로 스트리밍 - List 로 모으지 않아서 건수와 상관없이 메모리 일정
+    @GetMapping("/members/export")
+    public void export(HttpServletResponse response) throws IOException {
+        response.setContentType("application/x-ndjson");
+        response.setCharacterEncoding("UTF-8");
+        memberExportService.exportNdjson(response.getOutputStream());
+    }
     @PostConstruct
     public void init() {
+       List<Member> members = new ArrayList<>();
        for (int i = 0; i < 100; i++) {
-           memberRepository.save(new Member("user"+i,i));
+           members.add(new Member("user"+i,i));
        }
+       memberBulkWriter.saveAll(members); //save 를 100번 하면 insert 도 100번 왕복
     }
 }
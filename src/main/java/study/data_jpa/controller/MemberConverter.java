@@ -0,0 +1,23 @@
+package study.data_jpa.controller;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.convert.converter.Converter;
+import org.springframework.stereotype.Component;
+import study.data_jpa.entity.Member;
+import study.data_jpa.service.MemberBatchLoader;
+
+/**
+- @PathVariable("id") Member 변환 - 스프링 데이터 DomainClassConverter(요청마다 findById) 대신 MemberBatchLoader 로 모아서 조회
+- String -> Member 전용 컨버터라서 Object -> Object 인 DomainClassConverter 보다 먼저 선택됨 (Converter 빈은 스프링 부트가 MVC 에 등록)
+ */
+@Component
+@RequiredArgsConstructor
+public class MemberConverter implements Converter<String, Member> {
+
+    private final MemberBatchLoader memberBatchLoader;
+
+    @Override
+    public Member convert(String source) {
+        return memberBatchLoader.findById(Long.valueOf(source.trim())).orElse(null);
+    }
+}
@@ -0,0 +1,90 @@
+package study.data_jpa.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.TransactionExecution;
+import org.springframework.transaction.TransactionExecutionListener;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+- data-jpa.datasource.routing.enabled=true 이면 primary + replica 커넥션 풀을 만들고 readOnly 트랜잭션을 replica 로 보냄
+- 꺼져 있으면 스프링 부트 기본 DataSource 하나만 사용
+ */
+@Configuration
+@EnableConfigurationProperties(RoutingDataSourceProperties.class)
+@ConditionalOnProperty(name = "data-jpa.datasource.routing.enabled", havingValue = "true")
+public class DataSourceRoutingConfig {
+
+    @Bean
+    public ReadYourWrites readYourWrites(RoutingDataSourceProperties routing) {
+        return new ReadYourWrites(routing.getReadYourWritesWindow());
+    }
+
+    @Bean
+    public ReplicaRoutingDataSource replicaRoutingDataSource(DataSourceProperties primaryProperties,
+                                                             RoutingDataSourceProperties routing,
+                                                             ReadYourWrites readYourWrites,
+                                                             Environment environment) {
+        HikariDataSource primary = pool(primaryProperties.getUrl(), primaryProperties.getUsername(),
+                primaryProperties.getPassword(), ReplicaRoutingDataSource.PRIMARY, environment);
+        List<HikariDataSource> replicas = new ArrayList<>();
+        for (RoutingDataSourceProperties.Replica replica : routing.getReplicas()) {
+            replicas.add(pool(replica.getUrl(),
+                    replica.getUsername() != null ? replica.getUsername() : primaryProperties.getUsername(),
+                    replica.getPassword() != null ? replica.getPassword() : primaryProperties.getPassword(),
+                    "replica-" + replicas.size(), environment));
+        }
+        return new ReplicaRoutingDataSource(primary, replicas, routing.getSelection(), readYourWrites);
+    }
+
+    //JPA, JdbcTemplate 가 사용하는 DataSource - 첫 SQL 실행 시점에 라우팅
+    @Bean
+    @Primary
+    public DataSource dataSource(ReplicaRoutingDataSource replicaRoutingDataSource) {
+        return new LazyConnectionDataSourceProxy(replicaRoutingDataSource);
+    }
+
+    //읽기 전용이 아닌 트랜잭션이 커밋되면 read-your-writes 시작
+    @Bean
+    public TransactionExecutionListener readYourWritesListener(ReadYourWrites readYourWrites) {
+        return new TransactionExecutionListener() {
+            @Override
+            public void afterCommit(TransactionExecution transaction, Throwable commitFailure) {
+                if (commitFailure == null && !transaction.isReadOnly()) {
+                    readYourWrites.recordWrite();
+                }
+            }
+        };
+    }
+
+    @Bean
+    public FilterRegistrationBean<ReadYourWritesFilter> readYourWritesFilter() {
+        FilterRegistrationBean<ReadYourWritesFilter> registration = new FilterRegistrationBean<>(new ReadYourWritesFilter());
+        registration.addUrlPatterns("/*");
+        return registration;
+    }
+
+    //spring.datasource.hikari.* (풀 크기, 타임아웃) 를 모든 풀에 동일하게 적용
+    private HikariDataSource pool(String url, String username, String password, String poolName, Environment environment) {
+        HikariDataSource dataSource = new HikariDataSource();
+        Binder.get(environment).bind("spring.datasource.hikari", Bindable.ofInstance(dataSource));
+        dataSource.setJdbcUrl(url);
+        dataSource.setUsername(username);
+        dataSource.setPassword(password);
+        dataSource.setPoolName(poolName);
+        return dataSource;
+    }
+}
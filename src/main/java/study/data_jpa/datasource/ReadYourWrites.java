@@ -0,0 +1,58 @@
+package study.data_jpa.datasource;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+- 쓰기를 커밋한 클라이언트(키)는 window 동안 읽기도 primary 에서 -> 복제 지연 때문에 방금 쓴 값이 안 보이는 문제 방지
+- 키는 요청마다 ReadYourWritesFilter 가 설정 (헤더 또는 세션 id), 없으면 현재 스레드
+ */
+public class ReadYourWrites {
+
+    private static final ThreadLocal<String> KEY = new ThreadLocal<>();
+    private static final int CLEANUP_THRESHOLD = 10_000;
+
+    private final long windowNanos;
+    private final Map<String, Long> lastWrites = new ConcurrentHashMap<>();
+
+    public ReadYourWrites(Duration window) {
+        this.windowNanos = window.toNanos();
+    }
+
+    public static void bind(String key) {
+        KEY.set(key);
+    }
+
+    public static void unbind() {
+        KEY.remove();
+    }
+
+    public boolean isEnabled() {
+        return windowNanos > 0;
+    }
+
+    public void recordWrite() {
+        if (!isEnabled()) {
+            return;
+        }
+        long now = System.nanoTime();
+        lastWrites.put(currentKey(), now);
+        if (lastWrites.size() > CLEANUP_THRESHOLD) {
+            lastWrites.values().removeIf(writtenAt -> now - writtenAt > windowNanos);
+        }
+    }
+
+    public boolean mustReadPrimary() {
+        if (!isEnabled()) {
+            return false;
+        }
+        Long writtenAt = lastWrites.get(currentKey());
+        return writtenAt != null && System.nanoTime() - writtenAt <= windowNanos;
+    }
+
+    private static String currentKey() {
+        String key = KEY.get();
+        return key != null ? key : "thread:" + Thread.currentThread().getId();
+    }
+}
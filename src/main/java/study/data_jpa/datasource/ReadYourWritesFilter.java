@@ -0,0 +1,36 @@
+package study.data_jpa.datasource;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpSession;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+//요청의 클라이언트 키 - X-Client-Id 헤더, 없으면 기존 세션 id (세션을 새로 만들지는 않음)
+public class ReadYourWritesFilter extends OncePerRequestFilter {
+
+    static final String HEADER = "X-Client-Id";
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String key = request.getHeader(HEADER);
+        if (key == null) {
+            HttpSession session = request.getSession(false);
+            key = session == null ? null : "session:" + session.getId();
+        }
+        if (key == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        ReadYourWrites.bind(key);
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            ReadYourWrites.unbind();
+        }
+    }
+}
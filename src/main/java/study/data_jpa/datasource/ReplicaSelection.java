@@ -0,0 +1,6 @@
+package study.data_jpa.datasource;
+
+public enum ReplicaSelection {
+    ROUND_ROBIN,
+    LEAST_BUSY //사용 중인 커넥션이 가장 적은 replica
+}
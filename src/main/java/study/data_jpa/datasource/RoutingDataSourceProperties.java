@@ -0,0 +1,29 @@
+package study.data_jpa.datasource;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+//data-jpa.datasource.routing.* - primary 는 spring.datasource.*, 커넥션 풀 설정은 spring.datasource.hikari.* 를 같이 사용
+@Getter
+@Setter
+@ConfigurationProperties("data-jpa.datasource.routing")
+public class RoutingDataSourceProperties {
+
+    private boolean enabled;
+    private ReplicaSelection selection = ReplicaSelection.ROUND_ROBIN;
+    private Duration readYourWritesWindow = Duration.ZERO; //쓰기 커밋 후 이 시간 동안 같은 키의 읽기는 primary (0 이면 사용 안 함)
+    private List<Replica> replicas = new ArrayList<>();
+
+    @Getter
+    @Setter
+    public static class Replica {
+        private String url;
+        private String username; //없으면 primary 와 동일
+        private String password;
+    }
+}
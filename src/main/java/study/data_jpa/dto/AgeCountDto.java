@@ -0,0 +1,14 @@
+package study.data_jpa.dto;
+
+import lombok.Data;
+
+@Data
+public class AgeCountDto {
+    private Integer age;
+    private Long count;
+
+    public AgeCountDto(Integer age, Long count) {
+        this.age = age;
+        this.count = count;
+    }
+}
@@ -0,0 +1,20 @@
+package study.data_jpa.dto;
+
+import lombok.Data;
+
+@Data
+public class BulkUpdateResultDto {
+    private String jobName;
+    private long updated;   //이번 실행 + 이전 실행(재개 전) 수정 건수
+    private int chunks;     //이번 실행에서 커밋한 청크 수
+    private boolean resumed;
+    private boolean completed;
+
+    public BulkUpdateResultDto(String jobName, long updated, int chunks, boolean resumed, boolean completed) {
+        this.jobName = jobName;
+        this.updated = updated;
+        this.chunks = chunks;
+        this.resumed = resumed;
+        this.completed = completed;
+    }
+}
@@ -0,0 +1,27 @@
+package study.data_jpa.dto;
+
+import lombok.Data;
+import study.data_jpa.service.CountMode;
+
+import java.util.List;
+
+@Data
+public class CountedPageDto<T> {
+    private List<T> content;
+    private int number;
+    private int size;
+    private boolean hasNext;
+    private Long totalElements; //NONE 이면 null
+    private CountMode countMode;
+    private boolean totalExact; //APPROXIMATE 면 false
+
+    public CountedPageDto(List<T> content, int number, int size, boolean hasNext, Long totalElements, CountMode countMode) {
+        this.content = content;
+        this.number = number;
+        this.size = size;
+        this.hasNext = hasNext;
+        this.totalElements = totalElements;
+        this.countMode = countMode;
+        this.totalExact = totalElements != null && countMode != CountMode.APPROXIMATE;
+    }
+}
@@ -0,0 +1,14 @@
+package study.data_jpa.dto;
+
+import lombok.Data;
+
+@Data
+public class ItemImportResultDto {
+    private int requested;
+    private long affectedRows; //드라이버가 건수를 알려주지 않으면 -1
+
+    public ItemImportResultDto(int requested, long affectedRows) {
+        this.requested = requested;
+        this.affectedRows = affectedRows;
+    }
+}
@@ -0,0 +1,22 @@
+package study.data_jpa.dto;
+
+import lombok.Data;
+import org.springframework.data.domain.Page;
+
+import java.util.List;
+
+@Data
+public class MemberDashboardDto {
+    private Page<MemberDto> members;
+    private long totalMembers;
+    private List<TeamSummaryDto> teams;
+    private List<AgeCountDto> ageDistribution;
+
+    public MemberDashboardDto(Page<MemberDto> members, long totalMembers,
+                              List<TeamSummaryDto> teams, List<AgeCountDto> ageDistribution) {
+        this.members = members;
+        this.totalMembers = totalMembers;
+        this.teams = teams;
+        this.ageDistribution = ageDistribution;
+    }
+}
@@ -0,0 +1,18 @@
+package study.data_jpa.dto;
+
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class MemberScrollDto {
+    private List<MemberDto> content;
+    private String nextCursor; //다음 페이지 조회시 그대로 넘겨주는 값, 마지막 페이지면 null
+    private boolean hasNext;
+
+    public MemberScrollDto(List<MemberDto> content, String nextCursor, boolean hasNext) {
+        this.content = content;
+        this.nextCursor = nextCursor;
+        this.hasNext = hasNext;
+    }
+}
@@ -0,0 +1,16 @@
+package study.data_jpa.dto;
+
+import lombok.Data;
+
+@Data
+public class TeamSummaryDto {
+    private Long id;
+    private String name;
+    private Long memberCount;
+
+    public TeamSummaryDto(Long id, String name, Long memberCount) {
+        this.id = id;
+        this.name = name;
+        this.memberCount = memberCount;
+    }
+}
@@ -0,0 +1,33 @@
+package study.data_jpa.entity;
+
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+import java.time.LocalDateTime;
+
+//Member, Team 변경 이력 (추가만 함) - 테이블 생성용 매핑, 쓰기는 AuditLogWriter 가 JDBC 배치로
+@Entity
+@Table(name = "audit_log", indexes = @Index(name = "idx_audit_log_entity", columnList = "entity_type, entity_id"))
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@ToString
+public class AuditLog {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    @Column(name = "entity_type", nullable = false, length = 50)
+    private String entityType;
+    @Column(name = "entity_id")
+    private Long entityId;
+    @Column(nullable = false, length = 10)
+    private String action;   //INSERT, UPDATE, DELETE
+    @Column(length = 1000)
+    private String changes;  //UPDATE: "age: 10 -> 11, username"
+    @Column(length = 50)
+    private String auditor;
+    @Column(name = "occurred_at", nullable = false)
+    private LocalDateTime occurredAt;
+}
@@ -0,0 +1,40 @@
+package study.data_jpa.entity;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+import java.time.LocalDateTime;
+
+//청크 단위 벌크 작업의 진행 위치 - 청크 수정과 같은 트랜잭션에서 갱신되므로 중단되면 마지막 커밋 청크 다음부터 재개
+@Entity
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@ToString
+public class BulkJobCheckpoint {
+    @Id
+    private String jobName;
+    private int age;         //작업 파라미터 - 재개할 때 같은 작업인지 확인
+    private long lastId;     //여기까지(포함) 처리 완료
+    private long maxId;      //시작 시점의 최대 id - 이후에 추가된 행은 대상이 아님
+    private long updated;
+    private boolean completed;
+    private LocalDateTime updatedAt;
+
+    public BulkJobCheckpoint(String jobName, int age, long maxId) {
+        this.jobName = jobName;
+        this.age = age;
+        this.maxId = maxId;
+        this.updatedAt = LocalDateTime.now();
+    }
+
+    public void advance(long lastId, int updated) {
+        this.lastId = lastId;
+        this.updated += updated;
+        this.completed = lastId >= maxId;
+        this.updatedAt = LocalDateTime.now();
+    }
+}
@@ -25,6 +25,22 @@ public class Item implements Persistable<String> {
     public Item(String id) {
         this.id = id;
     }
+    public Item(String id, String name) {
+        this.id = id;
+        this.name = name;
+    }
+    //DTO 등에서 다시 만든 준영속 엔티티 - createdDate 가 있으면 isNew()=false 라서 save() 가 merge (select 후 update)
+    public Item(String id, String name, LocalDateTime createdDate) {
+        this.id = id;
+        this.name = name;
+        this.createdDate = createdDate;
+    }
+    public String getName() {
+        return name;
+    }
+    public LocalDateTime getCreatedDate() {
+        return createdDate;
+    }
     @Override
     public String getId() {
         return id;
@@ -2,21 +2,35 @@ package study.data_jpa.entity;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 @Entity
 @Getter
 @Setter
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
 @ToString(of = {"id","username","age"}) //Team을 포함하게되면 무한 순환(양방향연관관계) - Team 제외
-@NamedQuery(name= "Member.findByUsername", query = " select m from Member m where m.username = :username") //정적 쿼리, 컴파일 시점에 문법 오류를 잡을수있음.
+@NamedQuery(name= "Member.findByUsername", query = " select m from Member m where m.username = :username",
+        hints = @QueryHint(name = "org.hibernate.cacheable", value = "true")) //정적 쿼리, 컴파일 시점에 문법 오류를 잡을수있음. 쿼리 캐시 사용
+@Table(name = "member", indexes = {
+        @Index(name = "idx_member_username_age", columnList = "username, age"), //findByUsername*, findyNames, 이름 접두사 검색 (username 만 읽으면 인덱스만으로 처리)
+        @Index(name = "idx_member_age", columnList = "age"),                    //findByAge, 나이 조건 벌크 수정, 나이순 Keyset 페이징
+        @Index(name = "idx_member_team_id", columnList = "team_id")             //팀 조인, team.members 지연 로딩
+})
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "member") //쿼리 캐시는 id 만 저장하므로 엔티티도 캐시해야 DB 조회가 없음
 public class  Member extends BaseEntity{
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "member_seq_generator")
+    @SequenceGenerator(name = "member_seq_generator", sequenceName = "member_seq", allocationSize = 50) //IDENTITY 는 insert 배치가 안됨, 50개씩 미리 할당(pooled)
     @Column(name ="member_id")
     private Long id;
     private String username;
     private int age;
 
+    @Version //낙관적 락 - 수정할 때 version 을 비교, 증가 (다른 트랜잭션이 먼저 수정했으면 OptimisticLockException)
+    private Long version;
+
 
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "team_id")
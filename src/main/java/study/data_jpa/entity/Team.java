@@ -2,23 +2,34 @@ package study.data_jpa.entity;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.OptimisticLock;
 
 import java.util.ArrayList;
 import java.util.List;
 
 @Entity
+@Table(name = "team", indexes = @Index(name = "idx_team_name", columnList = "name")) //MemberSpec.teamName
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "team") //쓰기보다 읽기가 훨씬 많음 -> 2차 캐시
 @Getter
 @Setter
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
 @ToString(of = {"id", "name"})
 public class Team extends JpaBaseEntity{
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "team_seq_generator")
+    @SequenceGenerator(name = "team_seq_generator", sequenceName = "team_seq", allocationSize = 50) //IDENTITY 는 insert 배치가 안됨, 50개씩 미리 할당(pooled)
     @Column(name="team_id")
     private Long id;
     private String name;
 
+    @Version
+    private Long version;
+
     @OneToMany(mappedBy = "team")
+    @OptimisticLock(excluded = true) //회원 추가/이동(changeTeam)으로 팀 version 이 오르지 않도록 - 연관관계 주인은 Member.team
     private List<Member> members = new ArrayList<>();
 
     public Team(String name) {
@@ -0,0 +1,8 @@
+package study.data_jpa.monitoring;
+
+public class QueryBudgetExceededException extends IllegalStateException {
+
+    public QueryBudgetExceededException(String message) {
+        super(message);
+    }
+}
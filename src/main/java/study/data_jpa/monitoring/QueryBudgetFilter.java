@@ -0,0 +1,53 @@
+package study.data_jpa.monitoring;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.Map;
+
+/**
+- HTTP 요청 하나에서 실행된 SQL 수를 세고 예산을 넘으면 로그(또는 예외)
+- OSIV 로 응답 직렬화 중에 발생하는 지연 로딩 SQL 까지 포함
+ */
+@Slf4j
+public class QueryBudgetFilter extends OncePerRequestFilter {
+
+    private final int maxStatements;
+    private final int maxRepeats;
+    private final boolean fail;
+
+    public QueryBudgetFilter(int maxStatements, int maxRepeats, boolean fail) {
+        this.maxStatements = maxStatements;
+        this.maxRepeats = maxRepeats;
+        this.fail = fail;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        QueryCounter.start();
+        QueryCount count;
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            count = QueryCounter.stop();
+        }
+
+        Map<String, Integer> repeated = count.getRepeated(maxRepeats);
+        if (count.getTotal() <= maxStatements && repeated.isEmpty()) {
+            return;
+        }
+        String message = request.getMethod() + " " + request.getRequestURI() + " - SQL " + count.getTotal()
+                + "번 (허용 " + maxStatements + "번), " + maxRepeats + "번 이상 반복된 SQL: " + repeated;
+        if (fail) {
+            //응답이 이미 커밋된 경우에는 상태 코드를 바꿀 수 없고 에러 로그만 남음
+            throw new QueryBudgetExceededException(message);
+        }
+        log.warn(message);
+    }
+}
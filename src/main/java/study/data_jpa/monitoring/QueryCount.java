@@ -0,0 +1,60 @@
+package study.data_jpa.monitoring;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+- 구간 동안 실행된 SQL 집계 결과
+- 같은 모양(파라미터만 다른)의 SQL 이 여러 번 나오면 N+1 의심
+ */
+public class QueryCount {
+
+    private final int total;
+    private final Map<String, Integer> statements; //SQL 모양 -> 실행 횟수
+
+    QueryCount(int total, Map<String, Integer> statements) {
+        this.total = total;
+        this.statements = Collections.unmodifiableMap(new LinkedHashMap<>(statements));
+    }
+
+    public int getTotal() {
+        return total;
+    }
+
+    public Map<String, Integer> getStatements() {
+        return statements;
+    }
+
+    //threshold 번 이상 반복된 SQL
+    public Map<String, Integer> getRepeated(int threshold) {
+        Map<String, Integer> repeated = new LinkedHashMap<>();
+        statements.forEach((sql, count) -> {
+            if (count >= threshold) {
+                repeated.put(sql, count);
+            }
+        });
+        return repeated;
+    }
+
+    public QueryCount assertAtMost(int maxStatements) {
+        if (total > maxStatements) {
+            throw new QueryBudgetExceededException(
+                    "SQL " + total + "번 실행 (허용 " + maxStatements + "번) " + statements.keySet());
+        }
+        return this;
+    }
+
+    public QueryCount assertNoRepeatedStatements(int threshold) {
+        Map<String, Integer> repeated = getRepeated(threshold);
+        if (!repeated.isEmpty()) {
+            throw new QueryBudgetExceededException("같은 SQL 이 반복 실행됨 (N+1 의심): " + repeated);
+        }
+        return this;
+    }
+
+    @Override
+    public String toString() {
+        return "QueryCount{total=" + total + ", statements=" + statements + "}";
+    }
+}
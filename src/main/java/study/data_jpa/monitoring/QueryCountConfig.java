@@ -0,0 +1,31 @@
+package study.data_jpa.monitoring;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class QueryCountConfig {
+
+    //모든 SQL 은 QueryCountInspector 를 거침 (QueryCounter 구간 밖에서는 아무것도 하지 않음)
+    @Bean
+    public HibernatePropertiesCustomizer queryCountInspectorCustomizer() {
+        return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, new QueryCountInspector());
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "data-jpa.query-budget.enabled", havingValue = "true", matchIfMissing = true)
+    public FilterRegistrationBean<QueryBudgetFilter> queryBudgetFilter(
+            @Value("${data-jpa.query-budget.max-statements:20}") int maxStatements,
+            @Value("${data-jpa.query-budget.max-repeats:5}") int maxRepeats,
+            @Value("${data-jpa.query-budget.fail:false}") boolean fail) {
+        FilterRegistrationBean<QueryBudgetFilter> registration =
+                new FilterRegistrationBean<>(new QueryBudgetFilter(maxStatements, maxRepeats, fail));
+        registration.addUrlPatterns("/*");
+        return registration;
+    }
+}
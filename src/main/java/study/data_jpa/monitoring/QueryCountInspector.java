@@ -0,0 +1,13 @@
+package study.data_jpa.monitoring;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+//Hibernate 가 JDBC 로 보내기 직전의 SQL 을 QueryCounter 에 기록 (SQL 은 바꾸지 않음)
+public class QueryCountInspector implements StatementInspector {
+
+    @Override
+    public String inspect(String sql) {
+        QueryCounter.record(sql);
+        return sql;
+    }
+}
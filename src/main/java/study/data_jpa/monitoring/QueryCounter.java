@@ -0,0 +1,71 @@
+package study.data_jpa.monitoring;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+- 현재 스레드에서 실행되는 SQL 을 셈 (HTTP 요청 단위, 테스트 단위)
+- QueryCountInspector 가 Hibernate 가 SQL 을 실행하기 직전에 record 를 호출
+- 구간은 중첩 가능, 안쪽 구간에서 센 SQL 은 바깥 구간에도 포함됨
+
+ 사용 예)
+ QueryCount count = QueryCounter.count(() -> memberRepository.findAll());
+ count.assertAtMost(1);
+ */
+public final class QueryCounter {
+
+    private static final ThreadLocal<Scope> current = new ThreadLocal<>();
+
+    private QueryCounter() {
+    }
+
+    public static void start() {
+        current.set(new Scope(current.get()));
+    }
+
+    public static QueryCount stop() {
+        Scope scope = current.get();
+        if (scope == null) {
+            throw new IllegalStateException("QueryCounter.start() 가 호출되지 않았습니다");
+        }
+        if (scope.parent == null) {
+            current.remove();
+        } else {
+            current.set(scope.parent);
+        }
+        return new QueryCount(scope.total, scope.statements);
+    }
+
+    public static QueryCount count(Runnable work) {
+        start();
+        try {
+            work.run();
+        } catch (RuntimeException | Error e) {
+            stop();
+            throw e;
+        }
+        return stop();
+    }
+
+    public static boolean isActive() {
+        return current.get() != null;
+    }
+
+    static void record(String sql) {
+        String shape = sql.strip();
+        for (Scope scope = current.get(); scope != null; scope = scope.parent) {
+            scope.total++;
+            scope.statements.merge(shape, 1, Integer::sum);
+        }
+    }
+
+    private static class Scope {
+        private final Scope parent;
+        private final Map<String, Integer> statements = new HashMap<>();
+        private int total;
+
+        private Scope(Scope parent) {
+            this.parent = parent;
+        }
+    }
+}
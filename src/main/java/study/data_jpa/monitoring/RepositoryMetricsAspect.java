@@ -0,0 +1,132 @@
+package study.data_jpa.monitoring;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.aop.framework.AopProxyUtils;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Window;
+import org.springframework.stereotype.Component;
+import org.springframework.util.ClassUtils;
+
+import java.lang.reflect.Method;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.BaseStream;
+
+/**
+- 리포지토리 호출마다 지연시간(히스토그램), 반환 행 수, 에러 수를 기록
+- 스프링 데이터 리포지토리(MemberRepository, TeamRepository) + @Repository 클래스(MemberJPARepository ...)
+- 메서드별 Meter 는 처음 호출될 때 한 번만 만들고 재사용
+ */
+@Aspect
+@Component
+@RequiredArgsConstructor
+public class RepositoryMetricsAspect {
+
+    private final MeterRegistry registry;
+    private final Map<Class<?>, Map<Method, Meters>> meters = new ConcurrentHashMap<>();
+
+    @Around("target(org.springframework.data.repository.Repository) || @within(org.springframework.stereotype.Repository)")
+    public Object measure(ProceedingJoinPoint joinPoint) throws Throwable {
+        Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+        Object target = joinPoint.getTarget();
+        Meters meter = meters.computeIfAbsent(target.getClass(), type -> new ConcurrentHashMap<>())
+                .computeIfAbsent(method, m -> new Meters(repositoryName(target), m.getName()));
+
+        long start = System.nanoTime();
+        try {
+            Object result = joinPoint.proceed();
+            meter.success.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            if (method.getReturnType() != void.class) {
+                long rows = rows(result);
+                if (rows >= 0) {
+                    meter.rows.record(rows);
+                }
+            }
+            return result;
+        } catch (Throwable e) {
+            meter.error.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            Counter.builder("repository.errors")
+                    .tag("repository", meter.repository)
+                    .tag("method", meter.method)
+                    .tag("exception", e.getClass().getSimpleName())
+                    .register(registry)
+                    .increment();
+            throw e;
+        }
+    }
+
+    //스프링 데이터 리포지토리는 JDK 프록시라서 클래스 이름 대신 인터페이스 이름 사용
+    private String repositoryName(Object target) {
+        if (target instanceof org.springframework.data.repository.Repository<?, ?>) {
+            Class<?>[] interfaces = AopProxyUtils.proxiedUserInterfaces(target);
+            if (interfaces.length > 0) {
+                return interfaces[0].getSimpleName();
+            }
+        }
+        return ClassUtils.getUserClass(target).getSimpleName();
+    }
+
+    //반환 행 수, 알 수 없으면(count, 수정 건수, Stream ...) -1
+    private long rows(Object result) {
+        if (result == null) {
+            return 0;
+        }
+        if (result instanceof Collection<?> collection) {
+            return collection.size();
+        }
+        if (result instanceof Slice<?> slice) {
+            return slice.getNumberOfElements();
+        }
+        if (result instanceof Window<?> window) {
+            return window.size();
+        }
+        if (result instanceof Optional<?> optional) {
+            return optional.isPresent() ? 1 : 0;
+        }
+        if (result instanceof Number || result instanceof Boolean || result instanceof Iterable<?>
+                || result instanceof BaseStream<?, ?>) {
+            return -1;
+        }
+        return 1; //단건 엔티티, DTO
+    }
+
+    private class Meters {
+        private final String repository;
+        private final String method;
+        private final Timer success;
+        private final Timer error;
+        private final DistributionSummary rows;
+
+        private Meters(String repository, String method) {
+            this.repository = repository;
+            this.method = method;
+            this.success = timer("SUCCESS");
+            this.error = timer("ERROR");
+            this.rows = DistributionSummary.builder("repository.rows")
+                    .baseUnit("rows")
+                    .tag("repository", repository)
+                    .tag("method", method)
+                    .register(registry);
+        }
+
+        private Timer timer(String outcome) {
+            return Timer.builder("repository.invocations")
+                    .tag("repository", repository)
+                    .tag("method", method)
+                    .tag("outcome", outcome)
+                    .publishPercentileHistogram()
+                    .register(registry);
+        }
+    }
+}
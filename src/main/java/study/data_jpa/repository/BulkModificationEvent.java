@@ -0,0 +1,13 @@
+package study.data_jpa.repository;
+
+import lombok.Getter;
+
+//엔티티 이벤트 없이 테이블을 바꾼 쓰기 (@Modifying 쿼리, StatelessSession ETL) - 나이별 카운터 같은 파생 상태를 다시 맞추라는 신호
+@Getter
+public class BulkModificationEvent {
+    private final Class<?> domainType;
+
+    public BulkModificationEvent(Class<?> domainType) {
+        this.domainType = domainType;
+    }
+}
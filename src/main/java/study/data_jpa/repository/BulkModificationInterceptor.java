@@ -0,0 +1,31 @@
+package study.data_jpa.repository;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.data.jpa.repository.Modifying;
+
+/**
+- @Modifying 메서드가 성공하면 BulkModificationEvent 발행 (벌크 update/delete 는 Hibernate 엔티티 이벤트가 없음)
+- 받는 쪽은 @TransactionalEventListener 로 커밋 이후에 처리
+ */
+class BulkModificationInterceptor implements MethodInterceptor {
+
+    private final ApplicationEventPublisher publisher;
+    private final Class<?> domainType;
+
+    BulkModificationInterceptor(ApplicationEventPublisher publisher, Class<?> domainType) {
+        this.publisher = publisher;
+        this.domainType = domainType;
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        Object result = invocation.proceed();
+        if (AnnotatedElementUtils.hasAnnotation(invocation.getMethod(), Modifying.class)) {
+            publisher.publishEvent(new BulkModificationEvent(domainType));
+        }
+        return result;
+    }
+}
@@ -0,0 +1,108 @@
+package study.data_jpa.repository;
+
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.springframework.data.jpa.domain.Specification;
+import study.data_jpa.entity.Member;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+- 조건의 모양(shape)과 값(values)을 분리한 Specification
+  ex) username("a").and(teamName("b")) -> shape "(username and teamName)", values [a, b], types [String, String]
+- 파라미터 타입(types)은 값의 런타임 클래스가 아니라 조건이 선언한 속성 타입 -> 모양이 같으면 타입도 같음 (값이 null 이어도)
+- 모양이 같으면 MemberSpecCompiler 가 한 번 만든 JPQL 을 재사용하고 값만 파라미터로 바인딩
+- 일반 Specification 으로도 사용 가능 (findAll(spec) - 값을 그대로 넣어서 Criteria 생성)
+ */
+public final class CompilableSpecification implements Specification<Member> {
+
+    //values 순서대로 넘어오는 값 표현식(파라미터 또는 리터럴)으로 조건 생성, 조건이 없으면 null
+    @FunctionalInterface
+    interface Template {
+        Predicate render(Root<Member> root, CriteriaQuery<?> query, CriteriaBuilder builder, Iterator<Expression<?>> values);
+    }
+
+    private final String shape;
+    private final List<Object> values;
+    private final List<Class<?>> types;
+    private final Template template;
+
+    private CompilableSpecification(String shape, List<Object> values, List<Class<?>> types, Template template) {
+        this.shape = shape;
+        this.values = values;
+        this.types = types;
+        this.template = template;
+    }
+
+    static <T> CompilableSpecification of(String name, Class<T> type, T value, Template template) {
+        return new CompilableSpecification(name, Collections.singletonList(value), List.of(type), template);
+    }
+
+    //값이 없어서 조건을 만들지 않는 경우 (모양도 달라짐)
+    static CompilableSpecification absent(String name) {
+        return new CompilableSpecification(name + "?", List.of(), List.of(), (root, query, builder, values) -> null);
+    }
+
+    public CompilableSpecification and(CompilableSpecification other) {
+        return combine(other, "and", true);
+    }
+
+    public CompilableSpecification or(CompilableSpecification other) {
+        return combine(other, "or", false);
+    }
+
+    private CompilableSpecification combine(CompilableSpecification other, String operator, boolean and) {
+        List<Object> combined = new ArrayList<>(values);
+        combined.addAll(other.values);
+        List<Class<?>> combinedTypes = new ArrayList<>(types);
+        combinedTypes.addAll(other.types);
+        Template left = template;
+        Template right = other.template;
+        return new CompilableSpecification("(" + shape + " " + operator + " " + other.shape + ")", combined, combinedTypes,
+                (root, query, builder, values) -> {
+                    Predicate l = left.render(root, query, builder, values);
+                    Predicate r = right.render(root, query, builder, values);
+                    if (l == null || r == null) {
+                        return l == null ? r : l;
+                    }
+                    return and ? builder.and(l, r) : builder.or(l, r);
+                });
+    }
+
+    public String getShape() {
+        return shape;
+    }
+
+    public List<Object> getValues() {
+        return Collections.unmodifiableList(values);
+    }
+
+    public List<Class<?>> getTypes() {
+        return Collections.unmodifiableList(types);
+    }
+
+    Predicate render(Root<Member> root, CriteriaQuery<?> query, CriteriaBuilder builder, List<? extends Expression<?>> expressions) {
+        return template.render(root, query, builder, new ArrayList<Expression<?>>(expressions).iterator());
+    }
+
+    @Override
+    public Predicate toPredicate(Root<Member> root, CriteriaQuery<?> query, CriteriaBuilder builder) {
+        List<Expression<?>> literals = new ArrayList<>();
+        for (int i = 0; i < values.size(); i++) {
+            Object value = values.get(i);
+            literals.add(value == null ? builder.nullLiteral(types.get(i)) : builder.literal(value));
+        }
+        return render(root, query, builder, literals);
+    }
+
+    @Override
+    public String toString() {
+        return shape + " " + values;
+    }
+}
@@ -0,0 +1,18 @@
+package study.data_jpa.repository;
+
+import study.data_jpa.dto.ItemImportResultDto;
+import study.data_jpa.entity.Item;
+
+import java.util.Collection;
+
+public interface ItemRepositoryCustom {
+
+    enum ConflictMode {
+        IGNORE, //이미 있는 id 는 건너뜀 (insert ignore)
+        UPSERT  //이미 있는 id 는 name 만 갱신 (on duplicate key update)
+    }
+
+    //JDBC 배치 insert - save() 와 달리 행마다 존재 여부 select(merge) 없음, 충돌은 DB 가 한 번에 처리
+    //영속성 컨텍스트를 거치지 않으므로 이미 로딩된 Item 엔티티에는 반영되지 않음
+    ItemImportResultDto importItems(Collection<Item> items, ConflictMode mode);
+}
@@ -0,0 +1,54 @@
+package study.data_jpa.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+import study.data_jpa.dto.ItemImportResultDto;
+import study.data_jpa.entity.Item;
+
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Collection;
+
+@RequiredArgsConstructor
+public class ItemRepositoryImpl implements ItemRepositoryCustom {
+
+    //MySQL 문법 (H2 는 MODE=MySQL 에서 동일하게 동작)
+    private static final String INSERT_IGNORE =
+            "insert ignore into item (id, name, created_date) values (?, ?, ?)";
+    private static final String UPSERT =
+            "insert into item (id, name, created_date) values (?, ?, ?) on duplicate key update name = values(name)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Value("${data-jpa.item-import.batch-size:1000}")
+    private int batchSize;
+
+    @Override
+    @Transactional
+    public ItemImportResultDto importItems(Collection<Item> items, ConflictMode mode) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now()); //@CreatedDate 대신 직접 (엔티티 리스너를 거치지 않음)
+        int[][] counts = jdbcTemplate.batchUpdate(mode == ConflictMode.UPSERT ? UPSERT : INSERT_IGNORE, items, batchSize,
+                (ps, item) -> {
+                    ps.setString(1, item.getId());
+                    ps.setString(2, item.getName());
+                    ps.setTimestamp(3, now);
+                });
+
+        //insert 1, upsert 갱신 2, 무시/변경 없음 0 - rewriteBatchedStatements 면 드라이버가 건수를 주지 않을 수 있음(-2)
+        long affected = 0;
+        boolean known = true;
+        for (int[] batch : counts) {
+            for (int count : batch) {
+                if (count == Statement.SUCCESS_NO_INFO) {
+                    known = false;
+                } else {
+                    affected += count;
+                }
+            }
+        }
+        return new ItemImportResultDto(items.size(), known ? affected : -1);
+    }
+}
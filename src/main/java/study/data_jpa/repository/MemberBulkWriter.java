@@ -0,0 +1,57 @@
+package study.data_jpa.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+import study.data_jpa.entity.Member;
+import study.data_jpa.entity.Team;
+
+import java.util.Collection;
+
+/**
+- 대량 저장 - 한 트랜잭션 안에서 persist 하고 chunkSize 마다 flush/clear
+- hibernate.jdbc.batch_size, order_inserts 설정과 SEQUENCE(pooled) 키 전략이 있어야 insert 가 JDBC 배치로 묶임
+ */
+@Repository
+public class MemberBulkWriter {
+
+    @PersistenceContext
+    private EntityManager em;
+
+    @Value("${data-jpa.bulk.chunk-size:1000}")
+    private int chunkSize;
+
+    @Transactional
+    public int saveAll(Collection<Member> members) {
+        return persistInChunks(members, chunkSize);
+    }
+
+    @Transactional
+    public int saveAll(Collection<Member> members, int chunkSize) {
+        return persistInChunks(members, chunkSize);
+    }
+
+    @Transactional
+    public int saveAllTeams(Collection<Team> teams) {
+        return persistInChunks(teams, chunkSize);
+    }
+
+    private int persistInChunks(Collection<?> entities, int chunkSize) {
+        if (chunkSize < 1) {
+            throw new IllegalArgumentException("chunkSize 는 1 이상이어야 합니다: " + chunkSize);
+        }
+        int count = 0;
+        for (Object entity : entities) {
+            em.persist(entity);
+            if (++count % chunkSize == 0) {
+                em.flush(); //모아둔 insert 를 배치로 실행
+                em.clear(); //영속성 컨텍스트가 계속 커지지 않도록 비움
+            }
+        }
+        em.flush();
+        em.clear();
+        return count;
+    }
+}
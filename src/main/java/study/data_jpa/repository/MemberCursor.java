@@ -0,0 +1,74 @@
+package study.data_jpa.repository;
+
+import lombok.Getter;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+
+import java.io.*;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+- Keyset 페이징의 다음 위치를 클라이언트에 넘겨주기 위한 불투명(opaque) 토큰
+- 정렬 기준 + 마지막 행의 키 값(username 또는 age, id)을 Base64 로 인코딩
+- username 은 null 일 수 있으므로 앞에 있음/없음 표시(boolean)를 붙임 -> null 이면 MemberRepository.scroll 이 null 구간을 id 순으로 이어서 조회
+ */
+@Getter
+public class MemberCursor {
+
+    public enum Order {
+        USERNAME, //username desc, id asc
+        AGE       //age asc, id asc
+    }
+
+    private final Order order;
+    private final ScrollPosition position;
+
+    private MemberCursor(Order order, ScrollPosition position) {
+        this.order = order;
+        this.position = position;
+    }
+
+    //첫 페이지
+    public static MemberCursor first(Order order) {
+        return new MemberCursor(order, ScrollPosition.keyset());
+    }
+
+    public static String encode(Order order, ScrollPosition position) {
+        Map<String, Object> keys = ((KeysetScrollPosition) position).getKeys();
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeByte(order.ordinal());
+            if (order == Order.USERNAME) {
+                String username = (String) keys.get("username"); //null 구간이면 키에 username 이 없거나 null
+                out.writeBoolean(username != null);
+                if (username != null) {
+                    out.writeUTF(username);
+                }
+            } else {
+                out.writeInt(((Number) keys.get("age")).intValue());
+            }
+            out.writeLong(((Number) keys.get("id")).longValue());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes.toByteArray());
+    }
+
+    public static MemberCursor decode(String token) {
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(Base64.getUrlDecoder().decode(token)))) {
+            Order order = Order.values()[in.readByte()];
+            Map<String, Object> keys = new LinkedHashMap<>();
+            if (order == Order.USERNAME) {
+                keys.put("username", in.readBoolean() ? in.readUTF() : null);
+            } else {
+                keys.put("age", in.readInt());
+            }
+            keys.put("id", in.readLong());
+            return new MemberCursor(order, ScrollPosition.forward(keys));
+        } catch (IOException | RuntimeException e) {
+            throw new IllegalArgumentException("잘못된 cursor 입니다: " + token, e);
+        }
+    }
+}
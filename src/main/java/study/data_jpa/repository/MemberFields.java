@@ -0,0 +1,117 @@
+package study.data_jpa.repository;
+
+import org.springframework.data.domain.Sort;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+- /members?fields=id,username,team.name -> 요청한 필드만 select 하는 JPQL 조각 (허용된 필드만, 문자열을 그대로 쿼리에 넣지 않음)
+- team.name 처럼 팀 테이블 컬럼이 필요할 때만 조인 (team.id 는 member.team_id 라서 조인 없음)
+- 결과 행은 필드 순서대로 Map, team.* 은 {"team": {...}} 로 중첩
+ */
+public final class MemberFields {
+
+    //필드 -> JPQL 경로
+    private static final Map<String, String> PATHS = new LinkedHashMap<>();
+
+    static {
+        PATHS.put("id", "m.id");
+        PATHS.put("username", "m.username");
+        PATHS.put("age", "m.age");
+        PATHS.put("createdDate", "m.createdDate");
+        PATHS.put("lastModifiedDate", "m.lastModifiedDate");
+        PATHS.put("team.id", "m.team.id");
+        PATHS.put("team.name", "t.name");
+    }
+
+    private static final String NESTED = ".";
+
+    private final List<String> fields;
+    private final String select;
+    private final String orderBy;
+    private final boolean joinTeam;
+
+    private MemberFields(List<String> fields, Sort sort) {
+        this.fields = List.copyOf(fields);
+        List<String> paths = new ArrayList<>();
+        boolean join = false;
+        for (String field : fields) {
+            paths.add(PATHS.get(field));
+            join |= needsTeamJoin(field);
+        }
+        List<String> orders = new ArrayList<>();
+        for (Sort.Order order : sort) {
+            String path = path(order.getProperty());
+            orders.add(path + (order.isAscending() ? " asc" : " desc"));
+            join |= needsTeamJoin(order.getProperty());
+        }
+        orders.add("m.id asc"); //같은 값이 있어도 페이지마다 순서가 같도록
+        this.select = String.join(", ", paths);
+        this.orderBy = String.join(", ", orders);
+        this.joinTeam = join;
+    }
+
+    //fields - 콤마 구분, 중복은 한 번만 / sort - Pageable 의 정렬 (정렬 필드도 허용 목록 안에서만)
+    public static MemberFields parse(String fields, Sort sort) {
+        Set<String> selected = new LinkedHashSet<>();
+        for (String field : fields.split(",")) {
+            String trimmed = field.trim();
+            if (trimmed.isEmpty()) {
+                continue;
+            }
+            path(trimmed);
+            selected.add(trimmed);
+        }
+        if (selected.isEmpty()) {
+            throw new IllegalArgumentException("fields 는 비어 있을 수 없습니다");
+        }
+        return new MemberFields(new ArrayList<>(selected), sort);
+    }
+
+    public List<String> getFields() {
+        return fields;
+    }
+
+    public String toJpql() {
+        return "select " + select + " from Member m" + (joinTeam ? " left join m.team t" : "") + " order by " + orderBy;
+    }
+
+    public boolean isJoinTeam() {
+        return joinTeam;
+    }
+
+    //row - 필드가 하나면 값 자체, 여러 개면 Object[]
+    @SuppressWarnings("unchecked")
+    public Map<String, Object> toRow(Object row) {
+        Object[] values = row instanceof Object[] array ? array : new Object[]{row};
+        Map<String, Object> result = new LinkedHashMap<>();
+        for (int i = 0; i < fields.size(); i++) {
+            String field = fields.get(i);
+            int dot = field.indexOf(NESTED);
+            if (dot < 0) {
+                result.put(field, values[i]);
+            } else {
+                Map<String, Object> nested = (Map<String, Object>) result.computeIfAbsent(field.substring(0, dot), key -> new LinkedHashMap<>());
+                nested.put(field.substring(dot + 1), values[i]);
+            }
+        }
+        return result;
+    }
+
+    private static String path(String field) {
+        String path = PATHS.get(field);
+        if (path == null) {
+            throw new IllegalArgumentException("지원하지 않는 필드: " + field + " (지원: " + PATHS.keySet() + ")");
+        }
+        return path;
+    }
+
+    private static boolean needsTeamJoin(String field) {
+        return PATHS.get(field).startsWith("t.");
+    }
+}
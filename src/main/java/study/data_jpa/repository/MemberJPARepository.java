@@ -2,6 +2,8 @@ package study.data_jpa.repository;
 
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.PersistenceContext;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Repository;
 import study.data_jpa.entity.Member;
 
@@ -11,6 +13,8 @@ import java.util.*;
 public class MemberJPARepository {
     @PersistenceContext
     private EntityManager em; //엔티티 메니저
+    @Autowired
+    private ApplicationEventPublisher publisher;
 
     //저장
     public Member save(Member member) {
@@ -62,13 +66,17 @@ public class MemberJPARepository {
                 .setParameter("age",age)
                 .getSingleResult();
     }
-    //회원의 나이 변경
+    //회원의 나이 변경 - 벌크 연산 후 영속성 컨텍스트를 비워서 이전 나이가 조회되지 않도록
     public int bulkAgePlus(int age){
-        return em.createQuery(
-                "update Member m set m.age = m.age + 1" +
+        em.flush();
+        int updated = em.createQuery(
+                "update versioned Member m set m.age = m.age + 1" +
                         "where m.age >= :age")
                 .setParameter("age",age)
                 .executeUpdate();
+        em.clear();
+        publisher.publishEvent(new BulkModificationEvent(Member.class)); //MemberCountService 가 커밋 이후 카운터 재동기화
+        return updated;
     }
 
 
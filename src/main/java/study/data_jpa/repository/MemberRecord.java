@@ -0,0 +1,5 @@
+package study.data_jpa.repository;
+
+//MemberProjection 과 같은 조회 결과를 record 로 - 팀이 없으면 teamName 은 null
+public record MemberRecord(Long id, String username, String teamName) {
+}
@@ -3,17 +3,27 @@ package study.data_jpa.repository;
 import jakarta.persistence.LockModeType;
 import jakarta.persistence.QueryHint;
 import org.apache.catalina.User;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Window;
 import org.springframework.data.jpa.repository.*;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+import study.data_jpa.dto.AgeCountDto;
 import study.data_jpa.dto.MemberDto;
 import study.data_jpa.entity.Member;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.stream.Stream;
 @Repository
 
 public interface MemberRepository extends JpaRepository<Member, Long>,MemberRepositoryCustom,JpaSpecificationExecutor<Member> {
@@ -31,28 +41,50 @@ public interface MemberRepository extends JpaRepository<Member, Long>,MemberRepo
     List<String> findUsernameList();
 
     //DTO로 조회
+    //readOnly 트랜잭션 - data-jpa.datasource.routing.enabled 이면 replica 에서 실행 (조회 전용 메서드에만 표시)
+    @Transactional(readOnly = true)
     @Query("select new study.data_jpa.dto.MemberDto (m.id, m.username, t.name ) from Member m join m.team t")
     List<MemberDto> findMemberDTO();
 
     //컬렉션 파라미터 바인딩
+    //컬렉션이 크면 MemberMultiKeyLookup 으로 나눠서 호출 (in_clause_parameter_padding - 개수가 달라도 2의 거듭제곱 단위로 같은 SQL)
     @Query("select m from Member m where m.username in  :names")
     List<Member> findyNames(@Param("names") Collection<String> names);
 
+    @Query("select m from Member m where m.id in :ids")
+    List<Member> findByIds(@Param("ids") Collection<Long> ids);
+
     List<Member> findListByUsername(String username); //컬렉션
 
     Member findMemberByUsername(String username); //단건
 
     Optional<Member> findOptionalByUsername(String username); //단건 (값이 있는 경우, 없는경우 NPE 방지)
 
+    @Transactional(readOnly = true)
+    @ReadOnlyQuery
     @Query(value = "select m from Member m left join m.team t",
             countQuery = "select count(m.username) from Member m")
     Page<Member> findByAge(int age, Pageable pageable);
 
-    //벌크성 수정 쿼리 * 회원 나이 변경
-    @Modifying
-    @Query("update Member m set m.age = m.age + 1 where m.age>=:age")
+    //벌크성 수정 쿼리 * 회원 나이 변경 - 영속성 컨텍스트를 거치지 않으므로 실행 전 flush, 실행 후 clear (이전 나이가 조회되지 않도록)
+    //큰 테이블이면 행 잠금, undo 가 한 번에 커지므로 MemberBulkAgeUpdater(id 구간 청크) 사용
+    //versioned - version 도 증가시켜서 벌크 수정 전에 읽어 둔 엔티티를 수정하면 충돌로 감지
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update versioned Member m set m.age = m.age + 1 where m.age>=:age")
     int bulkAgePlus(@Param("age") int age);
 
+    //(fromId, toId] 구간만 수정 - PK 범위 조건이라 잠금이 구간 안으로 제한됨
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update versioned Member m set m.age = m.age + 1 where m.id > :fromId and m.id <= :toId and m.age >= :age")
+    int bulkAgePlusInRange(@Param("age") int age, @Param("fromId") long fromId, @Param("toId") long toId);
+
+    @Query("select coalesce(max(m.id), 0) from Member m")
+    long findMaxId();
+
+    //fromId 다음 id 들을 순서대로 - PageRequest.of(chunkSize - 1, 1) 로 청크 마지막 id 한 건만 (PK 인덱스 범위 스캔)
+    @Query("select m.id from Member m where m.id > :fromId and m.id <= :maxId order by m.id")
+    List<Long> findIdsAfter(@Param("fromId") long fromId, @Param("maxId") long maxId, Pageable pageable);
+
     @Query(" select m from Member m left join fetch m.team ")
     List<Member> findMemberFetchJoin();
 
@@ -65,22 +97,116 @@ public interface MemberRepository extends JpaRepository<Member, Long>,MemberRepo
     @Query(" select  m from Member m ")
     List<Member> findMemberEntityGraph();
 
+    @Transactional(readOnly = true)
     @QueryHints(value = @QueryHint(name = "org.hibernate.readOnly", value = "true"))
     Member findReadOnlyByUsername(String username);
 
-    //Lock
+    //이름 접두사 검색(자동완성) - like 'prefix%' 는 idx_member_username_age 범위 스캔, username 만 조회해서 테이블 접근 없음
+    List<UsernameOnly> findDistinctByUsernameStartingWithOrderByUsernameAsc(String prefix, Limit limit);
+
+    //Lock - 비관적 락, 경합이 심하면 DB 에서 직렬화되고 대기하는 동안 커넥션을 잡고 있음 (대안: @Version + OptimisticRetryExecutor)
     @Lock(LockModeType.PESSIMISTIC_WRITE)
     List<Member> findLockByUsername(String username);
 
-    <T> List<T> findProjectionsByUsername(@Param("username") String username, Class<T> type);
+    //record, final DTO 클래스는 ProjectionMapper 로 바로 변환 (프록시, 행마다 리플렉션 없음), 그 외(인터페이스, 일반 DTO)는 스프링 데이터 프로젝션
+    default <T> List<T> findProjectionsByUsername(String username, Class<T> type) {
+        if (ProjectionMapper.supports(type)) {
+            return findRowsByUsername(username, type);
+        }
+        return findDynamicProjectionsByUsername(username, type);
+    }
+
+    <T> List<T> findDynamicProjectionsByUsername(@Param("username") String username, Class<T> type);
 
     @Query(value = "select * from member where username = ?", nativeQuery = true)
     Member findByNativeQuery(String username);
 
     //Projections 활용 , 네이티브 쿼리 + 인터페이스 기반 Projections 활용
+    @Transactional(readOnly = true)
     @Query(value = "SELECT m.member_id as id, m.username, t.name as teamName " +
             "FROM member m left join team t ON m.team_id = t.team_id",
             countQuery = "SELECT count(*) from member",
             nativeQuery = true)
     Page<MemberProjection> findByNativeProjection(Pageable pageable);
+
+    //대용량 조회 - DTO 로 바로 받아서 영속성 컨텍스트에 쌓이지 않음, fetchSize 만큼씩 DB 에서 가져옴 (트랜잭션 안에서 사용)
+    @QueryHints(value = {
+            @QueryHint(name = "org.hibernate.fetchSize", value = "1000"),
+            @QueryHint(name = "org.hibernate.readOnly", value = "true")
+    })
+    @Query("select new study.data_jpa.dto.MemberDto(m.id, m.username, t.name) from Member m left join m.team t")
+    Stream<MemberDto> streamAllMemberDto();
+
+    //count 쿼리 없이 다음 페이지 여부만 (size + 1 개 조회) - 전체 수는 MemberCountService 의 CountMode 로 따로 구함
+    @Transactional(readOnly = true)
+    @ReadOnlyQuery
+    Slice<Member> findSliceByAge(int age, Pageable pageable);
+
+    @Transactional(readOnly = true)
+    @Query(value = "SELECT m.member_id as id, m.username, t.name as teamName " +
+            "FROM member m left join team t ON m.team_id = t.team_id",
+            nativeQuery = true)
+    Slice<MemberProjection> findSliceByNativeProjection(Pageable pageable);
+
+    long countByAge(int age);
+
+    //count 결과를 쿼리 캐시(member-count 영역, TTL)에 저장 - member 테이블이 바뀌면 Hibernate 가 자동 무효화
+    @QueryHints(value = {
+            @QueryHint(name = "org.hibernate.cacheable", value = "true"),
+            @QueryHint(name = "org.hibernate.cacheRegion", value = "member-count")
+    })
+    @Query("select count(m) from Member m where m.age = :age")
+    long countByAgeCached(@Param("age") int age);
+
+    @QueryHints(value = {
+            @QueryHint(name = "org.hibernate.cacheable", value = "true"),
+            @QueryHint(name = "org.hibernate.cacheRegion", value = "member-count")
+    })
+    @Query("select count(m) from Member m")
+    long countAllCached();
+
+    //전체 회원을 읽기 전용으로 로딩 - 스냅샷이 없어서 힙 사용량, flush 비용이 작음 (수정해도 반영되지 않음)
+    @ReadOnlyQuery
+    @Query("select m from Member m")
+    List<Member> findAllReadOnly();
+
+    //나이별 회원 수
+    @Transactional(readOnly = true)
+    @Query("select new study.data_jpa.dto.AgeCountDto(m.age, count(m)) from Member m group by m.age order by m.age")
+    List<AgeCountDto> findAgeDistribution();
+
+    //Keyset(Scroll) 페이징 - offset 대신 마지막 행의 (정렬 키, id) 다음부터 조회 -> 깊은 페이지도 첫 페이지와 비용이 같음
+    @ReadOnlyQuery
+    Window<Member> findAllByOrderByUsernameDescIdAsc(ScrollPosition position, Limit limit);
+
+    @ReadOnlyQuery
+    Window<Member> findAllByOrderByAgeAscIdAsc(ScrollPosition position, Limit limit);
+
+    //username desc 에서 null 은 맨 뒤 (MySQL, H2 는 null 이 가장 작은 값) - keyset 조건(username < :username)으로는 찾을 수 없어서 id 순으로 따로 조회
+    @ReadOnlyQuery
+    Window<Member> findByUsernameIsNullOrderByIdAsc(ScrollPosition position, Limit limit);
+
+    default Window<Member> scroll(MemberCursor.Order order, ScrollPosition position, Limit limit) {
+        return switch (order) {
+            case USERNAME -> scrollByUsername(position, limit);
+            case AGE -> findAllByOrderByAgeAscIdAsc(position, limit);
+        };
+    }
+
+    private Window<Member> scrollByUsername(ScrollPosition position, Limit limit) {
+        //마지막 행의 username 이 null -> 이후는 null 구간
+        if (position instanceof KeysetScrollPosition keyset && !keyset.isInitial() && keyset.getKeys().get("username") == null) {
+            return findByUsernameIsNullOrderByIdAsc(ScrollPosition.forward(Map.of("id", keyset.getKeys().get("id"))), limit);
+        }
+        Window<Member> window = findAllByOrderByUsernameDescIdAsc(position, limit);
+        //첫 페이지는 조건이 없어서 null 행도 포함, 그 다음부터는 null 이 아닌 구간이 끝나면 남은 자리를 null 구간 앞부분으로 채움
+        if (position.isInitial() || window.hasNext() || !limit.isLimited() || window.size() >= limit.max()) {
+            return window;
+        }
+        Window<Member> nulls = findByUsernameIsNullOrderByIdAsc(ScrollPosition.keyset(), Limit.of(limit.max() - window.size()));
+        List<Member> content = new ArrayList<>(window.getContent());
+        content.addAll(nulls.getContent());
+        int nonNull = window.size();
+        return Window.from(content, index -> index < nonNull ? window.positionAt(index) : nulls.positionAt(index - nonNull), nulls.hasNext());
+    }
 }
@@ -1,9 +1,40 @@
 package study.data_jpa.repository;
 
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import study.data_jpa.entity.Member;
 
 import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.function.Function;
 
 public interface MemberRepositoryCustom {
     List<Member> findMemberCustom();
+
+    //findAll(spec) 과 같은 결과 - 모양이 같은 조건은 한 번 만든 JPQL 을 재사용하고 값만 바인딩 (MemberSpecCompiler)
+    List<Member> findAllCompiled(CompilableSpecification spec);
+
+    //record / final DTO 프로젝션 (ProjectionMapper) - type 의 컴포넌트 이름으로 select 할 속성 결정 (id, username, age, teamId, teamName)
+    <T> List<T> findRowsByUsername(String username, Class<T> type);
+
+    //네이티브 쿼리 + ProjectionMapper (findByNativeProjection 의 record 버전), id 순
+    <T> List<T> findAllNative(Class<T> type, Pageable pageable);
+
+    //요청한 필드만 select (MemberFields), 엔티티를 만들지 않고 Map 으로 반환 - 정렬은 MemberFields 의 것, pageable 은 offset/size 만 사용
+    Slice<Map<String, Object>> findFields(MemberFields fields, Pageable pageable);
+
+    //대량 ETL - StatelessSession (1차 캐시, 변경 감지, 엔티티 리스너 없음), 스프링 트랜잭션과 무관하게 자체 트랜잭션 사용
+
+    //id 순서로 전방향 스크롤하면서 chunkSize 개씩 chunkHandler 호출 (team 은 fetch join 으로 같이 로딩), 읽은 건수 반환
+    long scrollAll(int chunkSize, Consumer<List<Member>> chunkHandler);
+
+    //batchSize 개씩 JDBC 배치 insert 후 커밋 (감사 필드는 채워지지 않음), 저장 건수 반환
+    long insertAll(Iterable<Member> members, int batchSize);
+
+    //batchSize 개씩 JDBC 배치 update 후 커밋, 수정 건수 반환
+    long updateAll(Iterable<Member> members, int batchSize);
+
+    //읽기(scrollAll) -> transformer -> 청크마다 별도 세션으로 update 후 커밋 (null 을 반환하면 건너뜀), 수정 건수 반환
+    long transformAll(int chunkSize, Function<Member, Member> transformer);
 }
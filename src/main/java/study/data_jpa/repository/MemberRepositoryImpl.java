@@ -1,18 +1,256 @@
 package study.data_jpa.repository;
 
 import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.Query;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
 import lombok.RequiredArgsConstructor;
+import org.hibernate.Cache;
+import org.hibernate.ScrollMode;
+import org.hibernate.ScrollableResults;
+import org.hibernate.SessionFactory;
+import org.hibernate.StatelessSession;
+import org.hibernate.Transaction;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.transaction.annotation.Transactional;
 import study.data_jpa.entity.Member;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.function.Function;
 
 @RequiredArgsConstructor
 public class MemberRepositoryImpl implements MemberRepositoryCustom {
 
+    //프로젝션 속성 -> JPQL 경로, 네이티브 컬럼
+    private static final Map<String, String> PROJECTION_PATHS = Map.of(
+            "id", "m.id", "username", "m.username", "age", "m.age", "teamId", "t.id", "teamName", "t.name");
+    private static final Map<String, String> PROJECTION_COLUMNS = Map.of(
+            "id", "m.member_id", "username", "m.username", "age", "m.age", "teamId", "m.team_id", "teamName", "t.name");
+
+    //프로젝션 타입별 쿼리 문자열 - 한 번만 만듦
+    private static final Map<Class<?>, String> ROWS_BY_USERNAME = new ConcurrentHashMap<>();
+    private static final Map<Class<?>, String> ALL_NATIVE = new ConcurrentHashMap<>();
+
     private final EntityManager em;
+    private final EntityManagerFactory emf;
+    private final MemberSpecCompiler memberSpecCompiler;
+    private final ApplicationEventPublisher publisher;
 
     @Override
     public List<Member> findMemberCustom() {
         return em.createQuery("select m from Member m").getResultList();
     }
+
+    @Override
+    public List<Member> findAllCompiled(CompilableSpecification spec) {
+        String jpql = memberSpecCompiler.compile(spec);
+        if (jpql == null) {
+            return findAllUncompiled(spec);
+        }
+        TypedQuery<Member> query = em.createQuery(jpql, Member.class);
+        List<Object> values = spec.getValues();
+        for (int i = 0; i < values.size(); i++) {
+            query.setParameter(MemberSpecCompiler.PARAMETER_PREFIX + i, values.get(i));
+        }
+        return query.getResultList();
+    }
+
+    //findAll(spec) 과 같은 Criteria 쿼리 - 값은 리터럴
+    private List<Member> findAllUncompiled(CompilableSpecification spec) {
+        CriteriaBuilder builder = em.getCriteriaBuilder();
+        CriteriaQuery<Member> criteria = builder.createQuery(Member.class);
+        Root<Member> root = criteria.from(Member.class);
+        Predicate predicate = spec.toPredicate(root, criteria, builder);
+        if (predicate != null) {
+            criteria.where(predicate);
+        }
+        return em.createQuery(criteria).getResultList();
+    }
+
+    @Override
+    public <T> List<T> findRowsByUsername(String username, Class<T> type) {
+        ProjectionMapper<T> mapper = ProjectionMapper.of(type);
+        String jpql = ROWS_BY_USERNAME.computeIfAbsent(type, t -> "select " + select(mapper, PROJECTION_PATHS)
+                + " from Member m left join m.team t where m.username = :username");
+        return mapper.mapAll(em.createQuery(jpql).setParameter("username", username).getResultList());
+    }
+
+    @Override
+    public <T> List<T> findAllNative(Class<T> type, Pageable pageable) {
+        ProjectionMapper<T> mapper = ProjectionMapper.of(type);
+        String sql = ALL_NATIVE.computeIfAbsent(type, t -> "select " + select(mapper, PROJECTION_COLUMNS)
+                + " from member m left join team t on m.team_id = t.team_id order by m.member_id");
+        Query query = em.createNativeQuery(sql);
+        if (pageable.isPaged()) {
+            query.setFirstResult((int) pageable.getOffset());
+            query.setMaxResults(pageable.getPageSize());
+        }
+        return mapper.mapAll(query.getResultList());
+    }
+
+    @Override
+    @Transactional(readOnly = true) //routing 이 켜져 있으면 replica
+    public Slice<Map<String, Object>> findFields(MemberFields fields, Pageable pageable) {
+        Query query = em.createQuery(fields.toJpql());
+        if (pageable.isPaged()) {
+            query.setFirstResult((int) pageable.getOffset());
+            query.setMaxResults(pageable.getPageSize() + 1); //한 건 더 읽어서 다음 페이지 여부 판단 (count 쿼리 없음)
+        }
+        List<Map<String, Object>> content = new ArrayList<>();
+        for (Object row : query.getResultList()) {
+            content.add(fields.toRow(row));
+        }
+        boolean hasNext = pageable.isPaged() && content.size() > pageable.getPageSize();
+        if (hasNext) {
+            content.remove(content.size() - 1);
+        }
+        return new SliceImpl<>(content, pageable, hasNext);
+    }
+
+    private String select(ProjectionMapper<?> mapper, Map<String, String> paths) {
+        List<String> selections = new ArrayList<>();
+        for (String property : mapper.getProperties()) {
+            String path = paths.get(property);
+            if (path == null) {
+                throw new IllegalArgumentException("지원하지 않는 프로젝션 속성: " + property + " (지원: " + paths.keySet() + ")");
+            }
+            selections.add(path);
+        }
+        return String.join(", ", selections);
+    }
+
+    @Override
+    public long scrollAll(int chunkSize, Consumer<List<Member>> chunkHandler) {
+        try (StatelessSession session = sessionFactory().openStatelessSession()) {
+            Transaction tx = session.beginTransaction();
+            try (ScrollableResults<Member> results = session
+                    .createSelectionQuery("select m from Member m left join fetch m.team order by m.id", Member.class)
+                    .setFetchSize(chunkSize) //MySQL 은 useCursorFetch=true 여야 fetchSize 만큼씩 가져옴
+                    .scroll(ScrollMode.FORWARD_ONLY)) {
+                long count = 0;
+                List<Member> chunk = new ArrayList<>(chunkSize);
+                while (results.next()) {
+                    chunk.add(results.get());
+                    if (chunk.size() == chunkSize) {
+                        chunkHandler.accept(chunk);
+                        count += chunk.size();
+                        chunk = new ArrayList<>(chunkSize);
+                    }
+                }
+                if (!chunk.isEmpty()) {
+                    chunkHandler.accept(chunk);
+                    count += chunk.size();
+                }
+                tx.commit();
+                return count;
+            } catch (RuntimeException e) {
+                rollback(tx);
+                throw e;
+            }
+        }
+    }
+
+    @Override
+    public long insertAll(Iterable<Member> members, int batchSize) {
+        return write(members, batchSize, StatelessSession::insert);
+    }
+
+    @Override
+    public long updateAll(Iterable<Member> members, int batchSize) {
+        return write(members, batchSize, StatelessSession::update);
+    }
+
+    @Override
+    public long transformAll(int chunkSize, Function<Member, Member> transformer) {
+        try (StatelessSession writer = openWriter(chunkSize)) {
+            long[] updated = {0};
+            scrollAll(chunkSize, chunk -> {
+                List<Member> changed = new ArrayList<>(chunk.size());
+                for (Member member : chunk) {
+                    Member result = transformer.apply(member);
+                    if (result != null) {
+                        changed.add(result);
+                    }
+                }
+                writeChunk(writer, changed, StatelessSession::update);
+                updated[0] += changed.size();
+            });
+            return updated[0];
+        } finally {
+            evictMemberCaches();
+        }
+    }
+
+    private long write(Iterable<Member> members, int batchSize, BiConsumer<StatelessSession, Member> operation) {
+        try (StatelessSession writer = openWriter(batchSize)) {
+            long count = 0;
+            List<Member> chunk = new ArrayList<>(batchSize);
+            for (Member member : members) {
+                chunk.add(member);
+                if (chunk.size() == batchSize) {
+                    writeChunk(writer, chunk, operation);
+                    count += chunk.size();
+                    chunk.clear();
+                }
+            }
+            if (!chunk.isEmpty()) {
+                writeChunk(writer, chunk, operation);
+                count += chunk.size();
+            }
+            return count;
+        } finally {
+            evictMemberCaches();
+        }
+    }
+
+    //청크 하나 = 트랜잭션 하나 (JDBC 배치는 커밋 시점에 실행)
+    private void writeChunk(StatelessSession writer, List<Member> chunk, BiConsumer<StatelessSession, Member> operation) {
+        Transaction tx = writer.beginTransaction();
+        try {
+            for (Member member : chunk) {
+                operation.accept(writer, member);
+            }
+            tx.commit();
+        } catch (RuntimeException e) {
+            rollback(tx);
+            throw e;
+        }
+    }
+
+    private StatelessSession openWriter(int batchSize) {
+        StatelessSession writer = sessionFactory().openStatelessSession();
+        writer.setJdbcBatchSize(batchSize);
+        return writer;
+    }
+
+    //StatelessSession 쓰기는 2차 캐시, 쿼리 캐시, 엔티티 이벤트를 거치지 않으므로 회원 관련 캐시를 비우고 카운터 재동기화 신호
+    private void evictMemberCaches() {
+        Cache cache = sessionFactory().getCache();
+        cache.evict(Member.class);
+        cache.evictQueryRegion("member-count");
+        cache.evictDefaultQueryRegion();
+        publisher.publishEvent(new BulkModificationEvent(Member.class));
+    }
+
+    private void rollback(Transaction tx) {
+        if (tx.isActive()) {
+            tx.rollback();
+        }
+    }
+
+    private SessionFactory sessionFactory() {
+        return emf.unwrap(SessionFactory.class);
+    }
 }
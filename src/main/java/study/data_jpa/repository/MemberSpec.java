@@ -1,24 +1,27 @@
 package study.data_jpa.repository;
 
+import jakarta.persistence.criteria.Expression;
 import jakarta.persistence.criteria.Join;
 import jakarta.persistence.criteria.JoinType;
-import org.springframework.data.jpa.domain.Specification;
 import org.springframework.util.StringUtils;
 import study.data_jpa.entity.Member;
 import study.data_jpa.entity.Team;
 
+//CompilableSpecification 을 반환 - findAll(spec) 그대로 사용하거나 findAllCompiled(spec) 로 JPQL 재사용
 public class MemberSpec {
-    public static Specification<Member> teamName(final String teamName) {
-        return (Specification<Member>) (root, query, builder) -> {
-            if (StringUtils.isEmpty(teamName)) {
-                return null;
-            }
+    @SuppressWarnings("unchecked")
+    public static CompilableSpecification teamName(final String teamName) {
+        if (StringUtils.isEmpty(teamName)) {
+            return CompilableSpecification.absent("teamName");
+        }
+        return CompilableSpecification.of("teamName", String.class, teamName, (root, query, builder, values) -> {
             Join<Member, Team> t = root.join("team", JoinType.INNER); //회원과 조인
-            return builder.equal(t.get("name"), teamName);
-        };
+            return builder.equal(t.get("name"), (Expression<String>) values.next());
+        });
     }
-    public static Specification<Member> username(final String username) {
-        return (Specification<Member>) (root, query, builder) ->
-                builder.equal(root.get("username"), username);
+    @SuppressWarnings("unchecked")
+    public static CompilableSpecification username(final String username) {
+        return CompilableSpecification.of("username", String.class, username, (root, query, builder, values) ->
+                builder.equal(root.get("username"), (Expression<String>) values.next()));
     }
 }
@@ -0,0 +1,124 @@
+package study.data_jpa.repository;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.ParameterExpression;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.query.sqm.tree.select.SqmSelectStatement;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import study.data_jpa.entity.Member;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+- CompilableSpecification 의 모양(shape)별로 Criteria -> JPQL 변환을 한 번만 하고 LRU 로 보관 (최대 maxSize 개)
+- 같은 JPQL 문자열은 Hibernate 쿼리 플랜 캐시(hibernate.query.plan_cache_max_size)에서 SQL 변환 결과까지 재사용
+- 값은 :p0, :p1 ... 파라미터로 바인딩, 파라미터 타입은 조건이 선언한 속성 타입 (CompilableSpecification.getTypes)
+- JPQL 문자열 변환(SqmSelectStatement.toHqlString)은 Hibernate 내부 API - 실패한 모양은 null 로 기억하고 호출한 쪽에서 Criteria 로 실행
+ */
+@Slf4j
+@Component
+public class MemberSpecCompiler {
+
+    static final String PARAMETER_PREFIX = "p";
+    private static final String UNSUPPORTED = ""; //JPQL 로 바꿀 수 없는 모양
+
+    @PersistenceContext
+    private EntityManager em;
+
+    private final int maxSize;
+    private final Map<String, String> compiled;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    public MemberSpecCompiler(MeterRegistry registry, @Value("${data-jpa.specification-cache.max-size:256}") int maxSize) {
+        this.maxSize = maxSize;
+        this.compiled = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, String> eldest) {
+                return size() > MemberSpecCompiler.this.maxSize;
+            }
+        };
+        FunctionCounter.builder("specification.cache.requests", hits, AtomicLong::get).tag("result", "hit").register(registry);
+        FunctionCounter.builder("specification.cache.requests", misses, AtomicLong::get).tag("result", "miss").register(registry);
+        Gauge.builder("specification.cache.size", this, MemberSpecCompiler::size).register(registry);
+        Gauge.builder("specification.cache.hit.ratio", this, MemberSpecCompiler::getHitRate).register(registry);
+    }
+
+    //모양에 해당하는 JPQL (파라미터 :p0 ...), 변환할 수 없는 모양이면 null
+    public String compile(CompilableSpecification spec) {
+        lock.lock();
+        try {
+            String jpql = compiled.get(spec.getShape());
+            if (jpql != null) {
+                hits.incrementAndGet();
+                return jpql.isEmpty() ? null : jpql;
+            }
+        } finally {
+            lock.unlock();
+        }
+        misses.incrementAndGet();
+        String jpql; //락 밖에서 변환 - 같은 모양을 동시에 변환해도 결과는 같음
+        try {
+            jpql = translate(spec);
+        } catch (RuntimeException e) {
+            log.warn("JPQL 로 변환할 수 없는 모양 - Criteria 로 실행: {} ({})", spec.getShape(), e.toString());
+            jpql = UNSUPPORTED;
+        }
+        lock.lock();
+        try {
+            compiled.put(spec.getShape(), jpql);
+        } finally {
+            lock.unlock();
+        }
+        return jpql.isEmpty() ? null : jpql;
+    }
+
+    private String translate(CompilableSpecification spec) {
+        CriteriaBuilder builder = em.getCriteriaBuilder();
+        CriteriaQuery<Member> query = builder.createQuery(Member.class);
+        Root<Member> root = query.from(Member.class);
+        List<ParameterExpression<?>> parameters = new ArrayList<>();
+        List<Class<?>> types = spec.getTypes();
+        for (int i = 0; i < types.size(); i++) {
+            parameters.add(builder.parameter(types.get(i), PARAMETER_PREFIX + i));
+        }
+        Predicate predicate = spec.render(root, query, builder, parameters);
+        query.select(root);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        if (!(query instanceof SqmSelectStatement<?> statement)) {
+            throw new IllegalStateException("Hibernate Criteria 가 아닙니다: " + query.getClass().getName());
+        }
+        return statement.toHqlString();
+    }
+
+    public double getHitRate() {
+        long total = hits.get() + misses.get();
+        return total == 0 ? 0 : (double) hits.get() / total;
+    }
+
+    public int size() {
+        lock.lock();
+        try {
+            return compiled.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package study.data_jpa.repository;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.Parameter;
+import java.lang.reflect.RecordComponent;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+- 쿼리 결과 행(Object[]) -> record / final DTO 클래스 - 인터페이스 프로젝션(프록시 + TupleBackedMap), 생성자 표현식(행마다 리플렉션) 대신 사용
+- 타입마다 한 번만 생성자 MethodHandle, 컬럼별 타입 변환기를 만들어 두고 모든 행에 재사용
+- record 컴포넌트 이름(final 클래스는 생성자 파라미터 이름)이 select 할 속성 이름, 순서도 같음
+ */
+public final class ProjectionMapper<T> {
+
+    private static final Map<Class<?>, ProjectionMapper<?>> MAPPERS = new ConcurrentHashMap<>();
+    private static final MethodType ROW_TO_OBJECT = MethodType.methodType(Object.class, Object[].class);
+
+    private final Class<T> type;
+    private final List<String> properties;
+    private final MethodHandle constructor; //(Object[]) -> Object
+    private final Column[] columns;
+
+    private ProjectionMapper(Class<T> type, Constructor<?> constructor, List<String> properties) {
+        this.type = type;
+        this.properties = List.copyOf(properties);
+        Class<?>[] parameterTypes = constructor.getParameterTypes();
+        this.columns = new Column[parameterTypes.length];
+        for (int i = 0; i < parameterTypes.length; i++) {
+            columns[i] = column(parameterTypes[i]);
+        }
+        try {
+            this.constructor = MethodHandles.lookup().unreflectConstructor(constructor)
+                    .asSpreader(Object[].class, parameterTypes.length)
+                    .asType(ROW_TO_OBJECT);
+        } catch (IllegalAccessException e) {
+            throw new IllegalArgumentException(type.getName() + " 의 생성자가 public 이 아닙니다", e);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    public static <T> ProjectionMapper<T> of(Class<T> type) {
+        return (ProjectionMapper<T>) MAPPERS.computeIfAbsent(type, ProjectionMapper::create);
+    }
+
+    //record 이거나 public 생성자가 하나뿐인 final 클래스 (인터페이스 프로젝션, 일반 DTO 는 스프링 데이터가 처리)
+    public static boolean supports(Class<?> type) {
+        if (MAPPERS.containsKey(type)) {
+            return true;
+        }
+        if (type.isRecord()) {
+            return Modifier.isPublic(type.getModifiers());
+        }
+        return Modifier.isFinal(type.getModifiers()) && Modifier.isPublic(type.getModifiers())
+                && !type.isPrimitive() && !type.isArray() && !type.getName().startsWith("java.")
+                && type.getConstructors().length == 1;
+    }
+
+    public List<String> getProperties() {
+        return properties;
+    }
+
+    //row - 컬럼이 하나면 값 자체, 여러 개면 Object[]
+    //Object[] 는 복사하지 않고 그 자리에서 타입 변환 (Hibernate 가 행마다 새로 만든 배열, 변환은 여러 번 해도 결과가 같음)
+    public T map(Object row) {
+        Object[] values = row instanceof Object[] array ? array : new Object[]{row};
+        if (values.length != columns.length) {
+            throw new IllegalArgumentException(type.getSimpleName() + " 은 컬럼 " + columns.length
+                    + "개가 필요한데 " + values.length + "개가 조회되었습니다");
+        }
+        for (int i = 0; i < values.length; i++) {
+            values[i] = columns[i].convert(values[i]);
+        }
+        try {
+            Object result = constructor.invokeExact(values);
+            return type.cast(result);
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new IllegalStateException(type.getSimpleName() + " 생성 실패", e);
+        }
+    }
+
+    public List<T> mapAll(List<?> rows) {
+        List<T> result = new ArrayList<>(rows.size());
+        for (Object row : rows) {
+            result.add(map(row));
+        }
+        return result;
+    }
+
+    private static ProjectionMapper<?> create(Class<?> type) {
+        if (!supports(type)) {
+            throw new IllegalArgumentException(type.getName() + " 은 record 또는 public 생성자가 하나인 final 클래스여야 합니다");
+        }
+        if (type.isRecord()) {
+            RecordComponent[] components = type.getRecordComponents();
+            Class<?>[] componentTypes = Arrays.stream(components).map(RecordComponent::getType).toArray(Class<?>[]::new);
+            List<String> names = Arrays.stream(components).map(RecordComponent::getName).toList();
+            try {
+                return new ProjectionMapper<>(type, type.getDeclaredConstructor(componentTypes), names); //canonical 생성자
+            } catch (NoSuchMethodException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+        Constructor<?> constructor = type.getConstructors()[0];
+        List<String> names = new ArrayList<>();
+        for (Parameter parameter : constructor.getParameters()) {
+            if (!parameter.isNamePresent()) { //-parameters 컴파일 옵션이 없으면 arg0, arg1 ...
+                throw new IllegalArgumentException(type.getName() + " 생성자 파라미터 이름을 알 수 없습니다 (-parameters)");
+            }
+            names.add(parameter.getName());
+        }
+        return new ProjectionMapper<>(type, constructor, names);
+    }
+
+    //네이티브 쿼리는 DB, 드라이버마다 숫자 타입이 다름 (BIGINT -> Long / BigInteger, INT -> Integer / Long ...)
+    private static Column column(Class<?> target) {
+        if (target == Long.class || target == long.class) {
+            return value -> value instanceof Number number && !(value instanceof Long) ? number.longValue() : value;
+        }
+        if (target == Integer.class || target == int.class) {
+            return value -> value instanceof Number number && !(value instanceof Integer) ? number.intValue() : value;
+        }
+        return value -> value;
+    }
+
+    private interface Column {
+        Object convert(Object value);
+    }
+}
@@ -0,0 +1,18 @@
+package study.data_jpa.repository;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+- 이 메서드가 로딩한 엔티티는 읽기 전용 - 변경 감지용 스냅샷을 만들지 않고 flush 때 dirty checking 대상에서 빠짐
+- 읽기 전용 트랜잭션 안에서 호출되면 표시가 없어도 동일하게 동작 (ReadOnlyQueryInterceptor)
+- 주의: 읽기 쓰기 트랜잭션 안이라도 이렇게 로딩한 엔티티를 수정하면 DB 에 반영되지 않음
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface ReadOnlyQuery {
+}
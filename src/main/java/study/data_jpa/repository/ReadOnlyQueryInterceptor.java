@@ -0,0 +1,43 @@
+package study.data_jpa.repository;
+
+import jakarta.persistence.EntityManager;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.hibernate.Session;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.orm.jpa.EntityManagerFactoryUtils;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+- @ReadOnlyQuery 메서드, 또는 바깥 트랜잭션이 readOnly 인 경우 호출하는 동안 Session#setDefaultReadOnly(true)
+  (스프링은 readOnly 트랜잭션을 새로 시작할 때만 세션을 읽기 전용으로 바꾸므로, 참여하는 경우와 OSIV 구간을 보완)
+- 바인딩된 EntityManager(트랜잭션, OSIV)가 없으면 호출이 끝나면 어차피 준영속이므로 아무것도 하지 않음
+ */
+class ReadOnlyQueryInterceptor implements MethodInterceptor {
+
+    private final EntityManager entityManager; //공유 EntityManager 프록시
+
+    ReadOnlyQueryInterceptor(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        if (!AnnotatedElementUtils.hasAnnotation(invocation.getMethod(), ReadOnlyQuery.class)
+                && !TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return invocation.proceed();
+        }
+        EntityManager bound = EntityManagerFactoryUtils.getTransactionalEntityManager(entityManager.getEntityManagerFactory());
+        if (bound == null) {
+            return invocation.proceed();
+        }
+        Session session = bound.unwrap(Session.class);
+        boolean previous = session.isDefaultReadOnly();
+        session.setDefaultReadOnly(true);
+        try {
+            return invocation.proceed();
+        } finally {
+            session.setDefaultReadOnly(previous);
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package study.data_jpa.repository;
+
+import jakarta.persistence.EntityManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.jpa.repository.support.JpaRepositoryFactory;
+import org.springframework.data.jpa.repository.support.JpaRepositoryFactoryBean;
+import org.springframework.data.repository.Repository;
+import org.springframework.data.repository.core.support.RepositoryFactorySupport;
+
+//모든 스프링 데이터 JPA 리포지토리 프록시에 ReadOnlyQueryInterceptor, BulkModificationInterceptor 를 추가 (@EnableJpaRepositories 에서 지정)
+public class ReadOnlyQueryRepositoryFactoryBean<T extends Repository<S, ID>, S, ID> extends JpaRepositoryFactoryBean<T, S, ID> {
+
+    private ApplicationEventPublisher publisher;
+
+    public ReadOnlyQueryRepositoryFactoryBean(Class<? extends T> repositoryInterface) {
+        super(repositoryInterface);
+    }
+
+    @Override
+    public void setApplicationEventPublisher(ApplicationEventPublisher publisher) {
+        super.setApplicationEventPublisher(publisher);
+        this.publisher = publisher;
+    }
+
+    @Override
+    protected RepositoryFactorySupport createRepositoryFactory(EntityManager entityManager) {
+        JpaRepositoryFactory factory = (JpaRepositoryFactory) super.createRepositoryFactory(entityManager);
+        factory.addRepositoryProxyPostProcessor((proxyFactory, repositoryInformation) -> {
+            proxyFactory.addAdvice(new ReadOnlyQueryInterceptor(entityManager));
+            proxyFactory.addAdvice(new BulkModificationInterceptor(publisher, repositoryInformation.getDomainType()));
+        });
+        return factory;
+    }
+}
@@ -1,8 +1,18 @@
 package study.data_jpa.repository;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+import study.data_jpa.dto.TeamSummaryDto;
 import study.data_jpa.entity.Team;
+
+import java.util.List;
 @Repository
-public interface TeamRepository extends JpaRepository<Team, Long> {
+public interface TeamRepository extends JpaRepository<Team, Long>, TeamRepositoryCustom {
+
+    //팀별 회원 수 (회원 엔티티를 읽지 않고 집계만)
+    @Transactional(readOnly = true)
+    @Query("select new study.data_jpa.dto.TeamSummaryDto(t.id, t.name, count(m)) from Team t left join t.members m group by t.id, t.name")
+    List<TeamSummaryDto> findTeamSummaries();
 }
@@ -0,0 +1,10 @@
+package study.data_jpa.repository;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import study.data_jpa.entity.Team;
+
+public interface TeamRepositoryCustom {
+    //팀 페이징 + 회원 컬렉션까지 초기화해서 반환
+    Page<Team> findTeamsWithMembers(Pageable pageable);
+}
@@ -0,0 +1,52 @@
+package study.data_jpa.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.data.support.PageableExecutionUtils;
+import study.data_jpa.entity.Team;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+public class TeamRepositoryImpl implements TeamRepositoryCustom {
+
+    private final EntityManager em;
+    private final int memberBatchSize;
+
+    public TeamRepositoryImpl(EntityManager em, @Value("${data-jpa.team.member-batch-size:100}") int memberBatchSize) {
+        this.em = em;
+        this.memberBatchSize = memberBatchSize;
+    }
+
+    //컬렉션 fetch join + 페이징은 메모리에서 페이징됨(HHH90003004)
+    //-> 팀 id 만 DB 에서 페이징하고, 회원은 id 를 memberBatchSize 개씩 나눠서 fetch join
+    @Override
+    public Page<Team> findTeamsWithMembers(Pageable pageable) {
+        String idQuery = QueryUtils.applySorting("select t.id from Team t", pageable.getSortOr(Sort.by("id")), "t");
+        TypedQuery<Long> query = em.createQuery(idQuery, Long.class);
+        if (pageable.isPaged()) {
+            query.setFirstResult((int) pageable.getOffset());
+            query.setMaxResults(pageable.getPageSize());
+        }
+        List<Long> ids = query.getResultList();
+
+        Map<Long, Team> teams = new HashMap<>();
+        for (int from = 0; from < ids.size(); from += memberBatchSize) {
+            List<Long> chunk = ids.subList(from, Math.min(from + memberBatchSize, ids.size()));
+            em.createQuery("select distinct t from Team t left join fetch t.members where t.id in :ids", Team.class)
+                    .setParameter("ids", chunk)
+                    .getResultList()
+                    .forEach(team -> teams.put(team.getId(), team));
+        }
+        List<Team> content = ids.stream().map(teams::get).toList(); //정렬 순서 유지
+
+        return PageableExecutionUtils.getPage(content, pageable,
+                () -> em.createQuery("select count(t) from Team t", Long.class).getSingleResult());
+    }
+}
@@ -0,0 +1,5 @@
+package study.data_jpa.repository;
+
+//UsernameOnly 와 같은 조회 결과를 record 로 - ProjectionMapper 가 프록시 없이 바로 생성
+public record UsernameRecord(String username) {
+}
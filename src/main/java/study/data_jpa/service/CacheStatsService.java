@@ -0,0 +1,51 @@
+package study.data_jpa.service;
+
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.stereotype.Service;
+import study.data_jpa.dto.CacheRegionStatsDto;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+
+@Service
+@RequiredArgsConstructor
+public class CacheStatsService {
+
+    private final EntityManagerFactory emf;
+
+    //hit/miss/put 은 Hibernate 통계, eviction 은 캐시 구현체(ehcache)의 JCache 통계
+    public List<CacheRegionStatsDto> regions() {
+        Statistics statistics = emf.unwrap(SessionFactory.class).getStatistics();
+        List<CacheRegionStatsDto> result = new ArrayList<>();
+        for (String region : statistics.getSecondLevelCacheRegionNames()) {
+            CacheRegionStatistics stats = statistics.getCacheRegionStatistics(region);
+            if (stats == null) {
+                continue;
+            }
+            result.add(new CacheRegionStatsDto(region, stats.getHitCount(), stats.getMissCount(),
+                    stats.getPutCount(), evictions(region), stats.getElementCountInMemory()));
+        }
+        return result;
+    }
+
+    private long evictions(String region) {
+        try {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            ObjectName pattern = new ObjectName("javax.cache:type=CacheStatistics,Cache=" + region + ",*");
+            long evictions = 0;
+            for (ObjectName name : server.queryNames(pattern, null)) {
+                evictions += (Long) server.getAttribute(name, "CacheEvictions");
+            }
+            return evictions;
+        } catch (Exception e) {
+            return -1; //통계를 읽을 수 없음
+        }
+    }
+}
@@ -0,0 +1,9 @@
+package study.data_jpa.service;
+
+//페이지 응답의 전체 건수를 구하는 방법
+public enum CountMode {
+    EXACT,       //매번 count 쿼리
+    CACHED,      //count 쿼리 결과를 쿼리 캐시에 저장 (TTL, 쓰기 시 무효화) - 정확
+    APPROXIMATE, //커밋 이벤트로 유지하는 카운터 - 추정치
+    NONE         //건수 없이 다음 페이지 여부만 (Slice)
+}
@@ -0,0 +1,187 @@
+package study.data_jpa.service;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import study.data_jpa.entity.Member;
+import study.data_jpa.repository.MemberRepository;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+- findById 요청을 window 동안(또는 batchSize 개가 모일 때까지) 모아서 in (...) 쿼리 한 번으로 조회하고 결과를 나눠줌 (DataLoader 방식)
+- 같은 id 를 동시에 요청하면 조회도 한 번, 결과(Member)는 별도 읽기 전용 트랜잭션에서 읽은 준영속 엔티티 - 지연 로딩(team) 불가
+- window=0 이면 모으지 않고 바로 findById
+- 메트릭: member.batch-loader.batch.size(배치당 id 수), member.batch-loader.wait(쿼리 시작까지 추가로 기다린 시간), member.batch-loader.query
+ */
+@Component
+public class MemberBatchLoader implements DisposableBean {
+
+    private final MemberRepository memberRepository;
+    private final TransactionTemplate readOnly;
+    private final Executor executor;
+    private final Duration window;
+    private final int batchSize;
+    private final ScheduledExecutorService scheduler;
+
+    //synchronized 대신 ReentrantLock - 가상 스레드가 락을 기다리는 동안 캐리어 스레드를 잡고 있지 않음 (Java 21~23)
+    private final ReentrantLock lock = new ReentrantLock();
+    private Map<Long, Pending> pending = new LinkedHashMap<>();
+    private ScheduledFuture<?> timer;
+
+    private final DistributionSummary batchSizes;
+    private final Timer waits;
+    private final Timer queries;
+
+    public MemberBatchLoader(MemberRepository memberRepository, PlatformTransactionManager transactionManager,
+                             @Qualifier("applicationTaskExecutor") Executor executor, MeterRegistry registry,
+                             @Value("${data-jpa.member-loader.window:2ms}") Duration window,
+                             @Value("${data-jpa.member-loader.batch-size:100}") int batchSize) {
+        this.memberRepository = memberRepository;
+        this.executor = executor;
+        this.window = window;
+        this.batchSize = batchSize;
+        this.readOnly = new TransactionTemplate(transactionManager);
+        this.readOnly.setReadOnly(true);
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(task -> {
+            Thread thread = new Thread(task, "member-batch-loader");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.batchSizes = DistributionSummary.builder("member.batch-loader.batch.size")
+                .baseUnit("ids")
+                .register(registry);
+        this.waits = Timer.builder("member.batch-loader.wait")
+                .publishPercentileHistogram()
+                .register(registry);
+        this.queries = Timer.builder("member.batch-loader.query")
+                .register(registry);
+    }
+
+    public Optional<Member> findById(Long id) {
+        try {
+            return load(id).join();
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof RuntimeException cause ? cause : e;
+        }
+    }
+
+    public CompletableFuture<Optional<Member>> load(Long id) {
+        if (window.isZero()) {
+            return CompletableFuture.completedFuture(readOnly.execute(status -> memberRepository.findById(id)));
+        }
+        Map<Long, Pending> full = null;
+        CompletableFuture<Optional<Member>> result;
+        lock.lock();
+        try {
+            Pending request = pending.computeIfAbsent(id, key -> new Pending(System.nanoTime()));
+            result = request.future;
+            if (pending.size() >= batchSize) {
+                full = takePending(); //window 를 기다리지 않고 바로 조회
+            } else if (timer == null) {
+                timer = scheduler.schedule(this::dispatchScheduled, window.toNanos(), TimeUnit.NANOSECONDS);
+            }
+        } finally {
+            lock.unlock();
+        }
+        if (full != null) {
+            dispatch(full);
+        }
+        return result;
+    }
+
+    @Override
+    public void destroy() {
+        scheduler.shutdownNow();
+        lock.lock();
+        Map<Long, Pending> remaining;
+        try {
+            remaining = takePending();
+        } finally {
+            lock.unlock();
+        }
+        if (!remaining.isEmpty()) {
+            dispatch(remaining);
+        }
+    }
+
+    private void dispatchScheduled() {
+        Map<Long, Pending> batch;
+        lock.lock();
+        try {
+            timer = null;
+            batch = takePending();
+        } finally {
+            lock.unlock();
+        }
+        if (!batch.isEmpty()) {
+            dispatch(batch);
+        }
+    }
+
+    //lock 안에서 호출
+    private Map<Long, Pending> takePending() {
+        Map<Long, Pending> batch = pending;
+        pending = new LinkedHashMap<>();
+        if (timer != null) {
+            timer.cancel(false);
+            timer = null;
+        }
+        return batch;
+    }
+
+    private void dispatch(Map<Long, Pending> batch) {
+        long now = System.nanoTime();
+        for (Pending request : batch.values()) {
+            waits.record(now - request.enqueued, TimeUnit.NANOSECONDS);
+        }
+        batchSizes.record(batch.size());
+        try {
+            executor.execute(() -> fetch(batch)); //스케줄러 스레드는 타이머 전용 - 쿼리는 다른 스레드에서
+        } catch (RejectedExecutionException e) {
+            batch.values().forEach(request -> request.future.completeExceptionally(e));
+        }
+    }
+
+    private void fetch(Map<Long, Pending> batch) {
+        try {
+            List<Member> members = queries.record(() -> readOnly.execute(status -> memberRepository.findAllById(batch.keySet())));
+            Map<Long, Member> byId = new HashMap<>();
+            for (Member member : members) {
+                byId.put(member.getId(), member);
+            }
+            batch.forEach((id, request) -> request.future.complete(Optional.ofNullable(byId.get(id))));
+        } catch (RuntimeException e) {
+            batch.values().forEach(request -> request.future.completeExceptionally(e));
+        }
+    }
+
+    private static class Pending {
+        private final long enqueued;
+        private final CompletableFuture<Optional<Member>> future = new CompletableFuture<>();
+
+        private Pending(long enqueued) {
+            this.enqueued = enqueued;
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package study.data_jpa.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.Assert;
+import study.data_jpa.dto.BulkUpdateResultDto;
+import study.data_jpa.entity.BulkJobCheckpoint;
+import study.data_jpa.repository.BulkJobCheckpointRepository;
+import study.data_jpa.repository.MemberRepository;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+- bulkAgePlus 를 id 구간(chunkSize) 단위로 나눠 실행 - 청크마다 트랜잭션을 커밋해서 잠금, undo 크기를 제한
+- 청크 수정과 체크포인트 갱신이 같은 트랜잭션 -> 중단 후 같은 jobName 으로 다시 실행하면 마지막 커밋 청크 다음부터 재개
+- 청크 사이에 throttle 만큼 쉬어서 복제 지연, 다른 트랜잭션과의 경합을 줄임
+- 대상은 시작 시점의 최대 id 까지, 청크 경계는 실제 id 로 찾음 (fromId 다음 chunkSize 번째 id) -> 시퀀스 할당, 삭제로 id 가 비어 있어도 청크마다 chunkSize 행
+ */
+@Slf4j
+@Service
+public class MemberBulkAgeUpdater {
+
+    private final MemberRepository memberRepository;
+    private final BulkJobCheckpointRepository checkpointRepository;
+    private final MemberCountService memberCountService;
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkSize;
+    private final Duration throttle;
+
+    public MemberBulkAgeUpdater(MemberRepository memberRepository, BulkJobCheckpointRepository checkpointRepository,
+                                MemberCountService memberCountService, PlatformTransactionManager transactionManager,
+                                @Value("${data-jpa.bulk-update.chunk-size:1000}") int chunkSize,
+                                @Value("${data-jpa.bulk-update.throttle:0ms}") Duration throttle) {
+        this.memberRepository = memberRepository;
+        this.checkpointRepository = checkpointRepository;
+        this.memberCountService = memberCountService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.chunkSize = chunkSize;
+        this.throttle = throttle;
+    }
+
+    public BulkUpdateResultDto agePlus(String jobName, int age) {
+        return agePlus(jobName, age, chunkSize);
+    }
+
+    //age 이상인 회원의 나이 +1
+    public BulkUpdateResultDto agePlus(String jobName, int age, int chunkSize) {
+        //바깥 트랜잭션이 있으면 청크가 따로 커밋되지 않고, 호출한 쪽 영속성 컨텍스트의 엔티티도 비울 수 없음
+        Assert.state(!TransactionSynchronizationManager.isActualTransactionActive(),
+                "청크 단위 벌크 수정은 트랜잭션 밖에서 호출해야 합니다");
+        Assert.isTrue(chunkSize > 0, "chunkSize 는 1 이상이어야 합니다");
+
+        BulkJobCheckpoint start = transactionTemplate.execute(status -> checkpointRepository.findById(jobName)
+                .orElseGet(() -> checkpointRepository.save(new BulkJobCheckpoint(jobName, age, memberRepository.findMaxId()))));
+        Assert.isTrue(start.getAge() == age,
+                "작업 " + jobName + " 은 age=" + start.getAge() + " 로 시작된 작업입니다");
+        boolean resumed = start.getLastId() > 0 || start.isCompleted();
+        if (resumed) {
+            log.info("벌크 수정 재개 job={} lastId={} maxId={}", jobName, start.getLastId(), start.getMaxId());
+        }
+
+        long lastId = start.getLastId();
+        long updated = start.getUpdated();
+        int chunks = 0;
+        boolean completed = start.isCompleted() || lastId >= start.getMaxId();
+        while (!completed) {
+            long fromId = lastId;
+            long toId = chunkEnd(fromId, start.getMaxId(), chunkSize);
+            BulkJobCheckpoint checkpoint = transactionTemplate.execute(status -> {
+                int count = memberRepository.bulkAgePlusInRange(age, fromId, toId); //실행 후 영속성 컨텍스트 clear
+                BulkJobCheckpoint current = checkpointRepository.findById(jobName).orElseThrow();
+                current.advance(toId, count);
+                return current;
+            });
+            lastId = checkpoint.getLastId();
+            updated = checkpoint.getUpdated();
+            completed = checkpoint.isCompleted();
+            chunks++;
+            if (!completed) {
+                pause();
+            }
+        }
+        if (chunks > 0) {
+            memberCountService.markStale(); //벌크 수정은 커밋 이벤트가 없어서 나이별 카운터를 다시 맞춤
+        }
+        return new BulkUpdateResultDto(jobName, updated, chunks, resumed, true);
+    }
+
+    //fromId 다음 chunkSize 번째 id, 남은 행이 chunkSize 보다 적으면 maxId (마지막 청크)
+    private long chunkEnd(long fromId, long maxId, int chunkSize) {
+        List<Long> ids = memberRepository.findIdsAfter(fromId, maxId, PageRequest.of(chunkSize - 1, 1));
+        return ids.isEmpty() ? maxId : ids.get(0);
+    }
+
+    private void pause() {
+        if (throttle.isZero() || throttle.isNegative()) {
+            return;
+        }
+        try {
+            Thread.sleep(throttle.toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("벌크 수정이 중단되었습니다 - 같은 jobName 으로 다시 실행하면 재개", e);
+        }
+    }
+}
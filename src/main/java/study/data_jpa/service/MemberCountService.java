@@ -0,0 +1,141 @@
+package study.data_jpa.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Slice;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+import study.data_jpa.dto.AgeCountDto;
+import study.data_jpa.dto.CountedPageDto;
+import study.data_jpa.entity.Member;
+import study.data_jpa.repository.BulkModificationEvent;
+import study.data_jpa.repository.MemberRepository;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+
+/**
+- 페이지 응답의 전체 건수를 CountMode 에 따라 구함 (목록은 항상 Slice 로 조회 -> count 쿼리는 여기서만)
+- APPROXIMATE: MemberCountListener 가 커밋된 insert/delete/update 마다 카운터를 갱신하고,
+  resync-interval 마다 DB 집계로 다시 맞춤 (네이티브 SQL 처럼 이벤트가 없는 쓰기, 재동기화 중 들어온 이벤트 오차 보정)
+- @Modifying 쿼리, StatelessSession ETL 은 BulkModificationEvent 로 커밋 이후 바로 재동기화 표시
+ */
+@Service
+public class MemberCountService {
+
+    private final MemberRepository memberRepository;
+    private final TransactionTemplate readOnly;
+    private final long resyncIntervalNanos;
+
+    private final LongAdder total = new LongAdder();
+    private final Map<Integer, LongAdder> byAge = new ConcurrentHashMap<>();
+    private final ReentrantLock resyncLock = new ReentrantLock();
+    private volatile long lastSync;
+    private volatile boolean synced;
+    private volatile boolean stale = true;
+
+    public MemberCountService(MemberRepository memberRepository, PlatformTransactionManager transactionManager,
+                              @Value("${data-jpa.count.resync-interval:5m}") Duration resyncInterval) {
+        this.memberRepository = memberRepository;
+        this.resyncIntervalNanos = resyncInterval.toNanos();
+        this.readOnly = new TransactionTemplate(transactionManager);
+        this.readOnly.setReadOnly(true);
+    }
+
+    //age 가 null 이면 전체 회원 수, NONE 이면 null
+    public Long count(CountMode mode, Integer age) {
+        return switch (mode) {
+            case EXACT -> age == null ? memberRepository.count() : memberRepository.countByAge(age);
+            case CACHED -> age == null ? memberRepository.countAllCached() : memberRepository.countByAgeCached(age);
+            case APPROXIMATE -> approximate(age);
+            case NONE -> null;
+        };
+    }
+
+    public <T, R> CountedPageDto<R> page(Slice<T> slice, Function<? super T, ? extends R> converter,
+                                         CountMode mode, Integer age) {
+        Long totalElements;
+        if (mode != CountMode.NONE && slice.isFirst() && !slice.hasNext()) {
+            totalElements = (long) slice.getNumberOfElements(); //첫 페이지에서 끝나면 count 쿼리 없이 정확한 값
+            mode = mode == CountMode.APPROXIMATE ? CountMode.EXACT : mode;
+        } else {
+            totalElements = count(mode, age);
+        }
+        return new CountedPageDto<>(slice.map(converter).getContent(), slice.getNumber(), slice.getSize(),
+                slice.hasNext(), totalElements, mode);
+    }
+
+    public long approximate(Integer age) {
+        if (stale || System.nanoTime() - lastSync > resyncIntervalNanos) {
+            resync();
+        }
+        if (age == null) {
+            return Math.max(0, total.sum());
+        }
+        LongAdder counter = byAge.get(age);
+        return counter == null ? 0 : Math.max(0, counter.sum());
+    }
+
+    //한 스레드만 재동기화, 나머지는 기다리지 않고 이전 값 사용 (처음 한 번은 값이 없으므로 기다림)
+    public void resync() {
+        boolean first = !synced;
+        if (first) {
+            resyncLock.lock();
+        } else if (!resyncLock.tryLock()) {
+            return;
+        }
+        try {
+            if (first && synced) {
+                return;
+            }
+            List<AgeCountDto> distribution = readOnly.execute(status -> memberRepository.findAgeDistribution());
+            byAge.keySet().retainAll(distribution.stream().map(AgeCountDto::getAge).toList());
+            long sum = 0;
+            for (AgeCountDto row : distribution) {
+                LongAdder counter = byAge.computeIfAbsent(row.getAge(), a -> new LongAdder());
+                counter.add(row.getCount() - counter.sum());
+                sum += row.getCount();
+            }
+            total.add(sum - total.sum());
+            stale = false;
+            lastSync = System.nanoTime();
+            synced = true;
+        } finally {
+            resyncLock.unlock();
+        }
+    }
+
+    void inserted(Integer age) {
+        total.increment();
+        byAge.computeIfAbsent(age, a -> new LongAdder()).increment();
+    }
+
+    void deleted(Integer age) {
+        total.decrement();
+        byAge.computeIfAbsent(age, a -> new LongAdder()).decrement();
+    }
+
+    void ageChanged(Integer oldAge, Integer newAge) {
+        byAge.computeIfAbsent(oldAge, a -> new LongAdder()).decrement();
+        byAge.computeIfAbsent(newAge, a -> new LongAdder()).increment();
+    }
+
+    //이전 값을 알 수 없는 변경 - 다음 조회 때 재동기화
+    void markStale() {
+        stale = true;
+    }
+
+    //벌크 update/delete, StatelessSession ETL - 커밋 이후(트랜잭션이 없으면 바로) 재동기화 표시
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBulkModification(BulkModificationEvent event) {
+        if (event.getDomainType() == Member.class) {
+            markStale();
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package study.data_jpa.service;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import study.data_jpa.dto.AgeCountDto;
+import study.data_jpa.dto.MemberDashboardDto;
+import study.data_jpa.dto.MemberDto;
+import study.data_jpa.dto.TeamSummaryDto;
+import study.data_jpa.repository.MemberRepository;
+import study.data_jpa.repository.TeamRepository;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+- 서로 관계없는 조회 4개를 동시에 실행 -> 응답 시간 ≈ 가장 느린 조회 하나
+- 조회마다 별도의 읽기 전용 트랜잭션(커넥션)을 사용하므로 요청 하나가 커넥션을 최대 4개 사용
+- timeout 은 트랜잭션 타임아웃(초 단위)으로도 쓰이므로 1초 이상, 초 단위로만 설정 가능
+ */
+@Service
+public class MemberDashboardService {
+
+    private final MemberRepository memberRepository;
+    private final TeamRepository teamRepository;
+    private final TransactionTemplate readOnly;
+    private final Executor executor;
+    private final Duration timeout;
+
+    public MemberDashboardService(MemberRepository memberRepository, TeamRepository teamRepository,
+                                  PlatformTransactionManager transactionManager,
+                                  @Qualifier("applicationTaskExecutor") Executor executor,
+                                  @Value("${data-jpa.dashboard.timeout:2s}") Duration timeout) {
+        if (timeout.compareTo(Duration.ofSeconds(1)) < 0 || timeout.toNanosPart() != 0) {
+            throw new IllegalArgumentException("data-jpa.dashboard.timeout 은 1초 이상, 초 단위여야 합니다: " + timeout);
+        }
+        this.memberRepository = memberRepository;
+        this.teamRepository = teamRepository;
+        this.executor = executor;
+        this.timeout = timeout;
+        this.readOnly = new TransactionTemplate(transactionManager);
+        this.readOnly.setReadOnly(true);
+        this.readOnly.setTimeout((int) timeout.toSeconds()); //쿼리마다 남은 시간이 statement 타임아웃으로 걸려서 DB 쿼리도 취소
+    }
+
+    public MemberDashboardDto dashboard(int age, Pageable pageable) {
+        CompletableFuture<Page<MemberDto>> members =
+                query(() -> memberRepository.findByAge(age, pageable).map(MemberDto::new));
+        CompletableFuture<Long> total = query(memberRepository::count);
+        CompletableFuture<List<TeamSummaryDto>> teams = query(teamRepository::findTeamSummaries);
+        CompletableFuture<List<AgeCountDto>> ages = query(memberRepository::findAgeDistribution);
+
+        List<CompletableFuture<?>> branches = List.of(members, total, teams, ages);
+        try {
+            firstFailureOrAll(branches).join();
+        } catch (CompletionException e) {
+            //아직 시작 안 한 조회는 실행되지 않음 - 이미 실행 중인 쿼리는 cancel 로 멈추지 않고 트랜잭션 타임아웃에 취소될 때까지 커넥션을 잡고 있음
+            branches.forEach(branch -> branch.cancel(true));
+            if (e.getCause() instanceof TimeoutException) {
+                throw new QueryTimeoutException("대시보드 조회가 " + timeout + " 안에 끝나지 않았습니다", e.getCause());
+            }
+            throw e.getCause() instanceof RuntimeException cause ? cause : e;
+        }
+        return new MemberDashboardDto(members.join(), total.join(), teams.join(), ages.join());
+    }
+
+    private <T> CompletableFuture<T> query(Supplier<T> query) {
+        return CompletableFuture.supplyAsync(() -> readOnly.execute(status -> query.get()), executor)
+                .orTimeout(timeout.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    //전부 성공하면 완료, 하나라도 실패하면 바로 실패 (allOf 는 실패해도 나머지가 끝날 때까지 기다림)
+    private CompletableFuture<Void> firstFailureOrAll(List<CompletableFuture<?>> branches) {
+        CompletableFuture<Void> result = new CompletableFuture<>();
+        for (CompletableFuture<?> branch : branches) {
+            branch.whenComplete((value, ex) -> {
+                if (ex != null) {
+                    result.completeExceptionally(ex);
+                }
+            });
+        }
+        CompletableFuture.allOf(branches.toArray(CompletableFuture[]::new))
+                .thenRun(() -> result.complete(null));
+        return result;
+    }
+}
@@ -0,0 +1,133 @@
+package study.data_jpa.service;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import study.data_jpa.entity.Member;
+import study.data_jpa.repository.MemberRepository;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.function.Function;
+
+/**
+- id / username 목록 조회 - 키를 chunkSize 개씩 나눠서 in (...) 쿼리 여러 번 (드라이버, DB 파라미터 개수 제한 회피)
+- hibernate.query.in_clause_parameter_padding=true 라서 청크 크기가 제각각이어도 SQL 은 2의 거듭제곱 개수별로만 생김 (플랜/statement 캐시 재사용)
+- parallelism > 1 이면 청크를 parallelism 개 묶음으로 나눠 동시에 조회 (묶음마다 읽기 전용 트랜잭션, 커넥션 하나)
+- 결과는 요청한 키 순서 (중복 키는 처음 위치에 한 번, 없는 키는 제외)
+ */
+@Service
+public class MemberMultiKeyLookup {
+
+    private final MemberRepository memberRepository;
+    private final TransactionTemplate readOnly;
+    private final Executor executor;
+    private final int chunkSize;
+    private final int parallelism;
+    private final int maxKeys;
+
+    public MemberMultiKeyLookup(MemberRepository memberRepository, PlatformTransactionManager transactionManager,
+                                @Qualifier("applicationTaskExecutor") Executor executor,
+                                @Value("${data-jpa.multi-key.chunk-size:512}") int chunkSize,
+                                @Value("${data-jpa.multi-key.parallelism:1}") int parallelism,
+                                @Value("${data-jpa.multi-key.max-keys:10000}") int maxKeys) {
+        this.memberRepository = memberRepository;
+        this.executor = executor;
+        this.chunkSize = chunkSize;
+        this.parallelism = Math.max(1, parallelism);
+        this.maxKeys = maxKeys;
+        this.readOnly = new TransactionTemplate(transactionManager);
+        this.readOnly.setReadOnly(true);
+    }
+
+    public List<Member> findByIds(Collection<Long> ids) {
+        Map<Long, Member> byId = new HashMap<>();
+        for (Member member : lookup(ids, memberRepository::findByIds)) {
+            byId.put(member.getId(), member);
+        }
+        List<Member> result = new ArrayList<>();
+        for (Long id : new LinkedHashSet<>(ids)) {
+            Member member = byId.get(id);
+            if (member != null) {
+                result.add(member);
+            }
+        }
+        return result;
+    }
+
+    //이름이 같은 회원이 여럿이면 이름마다 id 순
+    public List<Member> findByUsernames(Collection<String> usernames) {
+        Map<String, List<Member>> byUsername = new HashMap<>();
+        for (Member member : lookup(usernames, memberRepository::findyNames)) {
+            byUsername.computeIfAbsent(member.getUsername(), key -> new ArrayList<>()).add(member);
+        }
+        List<Member> result = new ArrayList<>();
+        for (String username : new LinkedHashSet<>(usernames)) {
+            List<Member> members = byUsername.get(username);
+            if (members != null) {
+                members.sort(Comparator.comparing(Member::getId));
+                result.addAll(members);
+            }
+        }
+        return result;
+    }
+
+    private <K> List<Member> lookup(Collection<K> keys, Function<Collection<K>, List<Member>> query) {
+        List<K> distinct = new ArrayList<>(new LinkedHashSet<>(keys));
+        if (distinct.size() > maxKeys) {
+            throw new IllegalArgumentException("한 번에 조회할 수 있는 키는 최대 " + maxKeys + "개입니다 (요청: " + distinct.size() + "개)");
+        }
+        List<List<K>> chunks = new ArrayList<>();
+        for (int from = 0; from < distinct.size(); from += chunkSize) {
+            chunks.add(distinct.subList(from, Math.min(from + chunkSize, distinct.size())));
+        }
+        if (chunks.isEmpty()) {
+            return List.of();
+        }
+        if (parallelism == 1 || chunks.size() == 1) {
+            return readOnly.execute(status -> run(chunks, query)); //이미 트랜잭션이 있으면 참여
+        }
+
+        //청크 i 는 묶음 i % lanes 로 - 묶음 수만큼만 커넥션 사용
+        int lanes = Math.min(parallelism, chunks.size());
+        List<List<List<K>>> laneChunks = new ArrayList<>();
+        for (int i = 0; i < lanes; i++) {
+            laneChunks.add(new ArrayList<>());
+        }
+        for (int i = 0; i < chunks.size(); i++) {
+            laneChunks.get(i % lanes).add(chunks.get(i));
+        }
+        List<CompletableFuture<List<Member>>> futures = new ArrayList<>();
+        for (List<List<K>> lane : laneChunks) {
+            futures.add(CompletableFuture.supplyAsync(() -> readOnly.execute(status -> run(lane, query)), executor));
+        }
+        List<Member> result = new ArrayList<>();
+        try {
+            for (CompletableFuture<List<Member>> future : futures) {
+                result.addAll(future.join());
+            }
+        } catch (CompletionException e) {
+            //CompletableFuture 는 취소해도 실행 중인 조회를 멈추지 않음 - 나머지 묶음은 각자 트랜잭션에서 끝나고 결과만 버려짐
+            throw e.getCause() instanceof RuntimeException cause ? cause : e;
+        }
+        return result;
+    }
+
+    private <K> List<Member> run(List<List<K>> chunks, Function<Collection<K>, List<Member>> query) {
+        List<Member> result = new ArrayList<>();
+        for (List<K> chunk : chunks) {
+            result.addAll(query.apply(chunk));
+        }
+        return result;
+    }
+}
@@ -0,0 +1,79 @@
+package study.data_jpa.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.OptimisticLockException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.Assert;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+- @Version 충돌(다른 트랜잭션이 먼저 커밋)이 나면 트랜잭션을 처음부터 다시 실행 - 최대 maxAttempts 번
+- 재시도 사이 대기 = 0 ~ min(maxBackoff, initialBackoff * 2^(n-1)) 사이 임의 값 (같이 충돌한 요청끼리 다시 부딪히지 않도록)
+- 시도마다 새 트랜잭션, 새 영속성 컨텍스트 -> callback 안에서 엔티티를 다시 조회해야 함
+ */
+@Slf4j
+@Component
+public class OptimisticRetryExecutor {
+
+    private final TransactionTemplate transactionTemplate;
+    private final int maxAttempts;
+    private final Duration initialBackoff;
+    private final Duration maxBackoff;
+    private final Counter retries;
+    private final Counter exhausted;
+
+    public OptimisticRetryExecutor(PlatformTransactionManager transactionManager, MeterRegistry registry,
+                                   @Value("${data-jpa.optimistic-retry.max-attempts:5}") int maxAttempts,
+                                   @Value("${data-jpa.optimistic-retry.initial-backoff:10ms}") Duration initialBackoff,
+                                   @Value("${data-jpa.optimistic-retry.max-backoff:200ms}") Duration maxBackoff) {
+        Assert.isTrue(maxAttempts > 0, "maxAttempts 는 1 이상이어야 합니다");
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.maxAttempts = maxAttempts;
+        this.initialBackoff = initialBackoff;
+        this.maxBackoff = maxBackoff;
+        this.retries = Counter.builder("optimistic.retries").register(registry);
+        this.exhausted = Counter.builder("optimistic.retries.exhausted").register(registry);
+    }
+
+    public <T> T execute(TransactionCallback<T> action) {
+        //바깥 트랜잭션에 참여하면 충돌이 바깥 커밋 때 나고, 이전 시도의 엔티티가 영속성 컨텍스트에 남음
+        Assert.state(!TransactionSynchronizationManager.isActualTransactionActive(),
+                "낙관적 락 재시도는 트랜잭션 밖에서 호출해야 합니다");
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return transactionTemplate.execute(action);
+            } catch (OptimisticLockingFailureException | OptimisticLockException e) {
+                if (attempt >= maxAttempts) {
+                    exhausted.increment();
+                    throw e;
+                }
+                retries.increment();
+                log.debug("낙관적 락 충돌 - 재시도 {}/{}: {}", attempt, maxAttempts, e.getMessage());
+                backoff(attempt);
+            }
+        }
+    }
+
+    private void backoff(int attempt) {
+        long ceiling = Math.min(maxBackoff.toMillis(), initialBackoff.toMillis() << Math.min(attempt - 1, 20));
+        if (ceiling <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(ThreadLocalRandom.current().nextLong(ceiling + 1));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("낙관적 락 재시도 대기 중 중단되었습니다", e);
+        }
+    }
+}
@@ -0,0 +1,254 @@
+package study.data_jpa.warmup;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.Parameter;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.query.QueryParameter;
+import org.springframework.beans.factory.ListableBeanFactory;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.repository.core.RepositoryInformation;
+import org.springframework.data.repository.support.Repositories;
+import org.springframework.orm.jpa.EntityManagerHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+- 리포지토리의 @Query 메서드를 기본값 인자로 직접 호출 + 엔티티 @NamedQuery 실행 -> 첫 요청 전에 SQM 해석, SQL 변환 결과가 쿼리 플랜 캐시에 들어감
+- 리포지토리 프록시를 그대로 거치므로 실제 요청과 같은 쿼리 문자열, 결과 타입으로 캐시됨 (Page 는 두 번째 페이지로 호출해서 countQuery 까지)
+- 쿼리마다 읽기 전용 트랜잭션을 열고 롤백 (@Modifying, 네이티브 쿼리는 제외), 실행하지 못한 쿼리는 WARN 로그
+- 메서드 이름으로 만드는 쿼리는 실행할 때마다 Criteria 로 만들어지므로 대상 아님 (JIT 워밍업은 WarmupRunner 의 HTTP 요청으로)
+- 워밍업 트랜잭션의 EntityManager 를 감싸서 만들어지는 모든 쿼리에 setMaxResults(1) -> 어떤 메서드든 최대 1건만 읽음
+  (쿼리 문자열, 결과 타입은 그대로라서 플랜 캐시 키도 같음, Spring Data 가 페이징으로 다시 지정해도 페이지 크기 1)
+ */
+@Slf4j
+@Component
+public class QueryWarmer {
+
+    @PersistenceContext
+    private EntityManager em;
+
+    private final ListableBeanFactory beanFactory;
+    private final EntityManagerFactory emf;
+    private final TransactionTemplate readOnly;
+
+    public QueryWarmer(ListableBeanFactory beanFactory, EntityManagerFactory emf, PlatformTransactionManager transactionManager) {
+        this.beanFactory = beanFactory;
+        this.emf = emf;
+        this.readOnly = new TransactionTemplate(transactionManager);
+        this.readOnly.setReadOnly(true);
+    }
+
+    //실행에 성공한 쿼리 수
+    public int warmUp() {
+        int warmed = 0;
+        for (Map.Entry<Method, RepositoryQuery> entry : repositoryQueries().entrySet()) {
+            Method method = entry.getKey();
+            RepositoryQuery target = entry.getValue();
+            warmed += execute(name(method), () -> invoke(target.repository(), method, target.domainType()));
+        }
+        for (String name : namedQueries()) {
+            warmed += execute(name, () -> {
+                Query query = em.createNamedQuery(name);
+                bindDefaults(query);
+                return query.setMaxResults(1).getResultList();
+            });
+        }
+        return warmed;
+    }
+
+    //@Query 가 붙은 리포지토리 메서드 -> 호출할 리포지토리 프록시
+    Map<Method, RepositoryQuery> repositoryQueries() {
+        Map<Method, RepositoryQuery> queries = new LinkedHashMap<>();
+        Repositories repositories = new Repositories(beanFactory);
+        for (Class<?> domainType : repositories) {
+            RepositoryInformation information = repositories.getRequiredRepositoryInformation(domainType);
+            Object repository = repositories.getRepositoryFor(domainType).orElse(null);
+            if (repository == null) {
+                continue;
+            }
+            for (Method method : information.getQueryMethods()) {
+                org.springframework.data.jpa.repository.Query query =
+                        AnnotatedElementUtils.findMergedAnnotation(method, org.springframework.data.jpa.repository.Query.class);
+                if (query == null || query.nativeQuery() || method.isAnnotationPresent(Modifying.class)) {
+                    continue;
+                }
+                queries.put(method, new RepositoryQuery(repository, domainType));
+            }
+        }
+        return queries;
+    }
+
+    List<String> namedQueries() {
+        List<String> names = new ArrayList<>();
+        em.getEntityManagerFactory().unwrap(SessionFactoryImplementor.class)
+                .getQueryEngine()
+                .getNamedObjectRepository()
+                .visitSqmQueryMementos(memento -> names.add(memento.getRegistrationName()));
+        return names;
+    }
+
+    private int execute(String query, Supplier<Object> call) {
+        try {
+            readOnly.executeWithoutResult(status -> {
+                EntityManagerHolder holder = (EntityManagerHolder) TransactionSynchronizationManager.unbindResource(emf);
+                EntityManagerHolder limited = new EntityManagerHolder(singleRow(holder.getEntityManager()));
+                limited.setSynchronizedWithTransaction(true);
+                TransactionSynchronizationManager.bindResource(emf, limited);
+                try {
+                    Object result = call.get();
+                    if (result instanceof Stream<?> stream) {
+                        stream.close();
+                    }
+                } finally {
+                    TransactionSynchronizationManager.unbindResource(emf);
+                    TransactionSynchronizationManager.bindResource(emf, holder); //트랜잭션 매니저가 정리할 원래 EntityManager
+                }
+                status.setRollbackOnly();
+            });
+            return 1;
+        } catch (RuntimeException e) {
+            log.warn("warm-up 건너뜀: {} ({})", query, e.getMessage());
+            return 0;
+        }
+    }
+
+    //createQuery, createNamedQuery 로 만든 쿼리는 최대 1건 - 나머지 호출은 그대로 위임
+    private static EntityManager singleRow(EntityManager target) {
+        return (EntityManager) Proxy.newProxyInstance(QueryWarmer.class.getClassLoader(), new Class<?>[]{EntityManager.class},
+                (proxy, method, args) -> {
+                    Object result;
+                    try {
+                        result = method.invoke(target, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getCause();
+                    }
+                    if (result instanceof Query query
+                            && (method.getName().equals("createQuery") || method.getName().equals("createNamedQuery"))) {
+                        query.setMaxResults(1);
+                    }
+                    return result;
+                });
+    }
+
+    private static String name(Method method) {
+        return method.getDeclaringClass().getSimpleName() + "." + method.getName();
+    }
+
+    private Object invoke(Object repository, Method method, Class<?> domainType) {
+        Class<?>[] types = method.getParameterTypes();
+        Object[] args = new Object[types.length];
+        for (int i = 0; i < types.length; i++) {
+            args[i] = argument(method, i, types[i], domainType);
+        }
+        try {
+            return method.invoke(repository, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause() instanceof RuntimeException cause ? cause : new IllegalStateException(e.getCause());
+        } catch (ReflectiveOperationException | IllegalArgumentException e) {
+            throw new IllegalStateException("기본값 인자로 호출할 수 없습니다: " + method, e);
+        }
+    }
+
+    private Object argument(Method method, int index, Class<?> type, Class<?> domainType) {
+        if (Pageable.class.isAssignableFrom(type)) {
+            return PageRequest.of(1, 1); //첫 페이지 결과가 페이지 크기보다 적으면 count 를 생략하므로 두 번째 페이지
+        }
+        if (type == Sort.class) {
+            return Sort.unsorted();
+        }
+        if (type == Limit.class) {
+            return Limit.of(1);
+        }
+        if (type == ScrollPosition.class) {
+            return ScrollPosition.offset();
+        }
+        if (type == Class.class) {
+            return domainType; //동적 프로젝션은 엔티티로
+        }
+        if (Collection.class.isAssignableFrom(type)) {
+            Class<?> element = ResolvableType.forMethodParameter(method, index).asCollection().resolveGeneric(0);
+            return Collections.singletonList(defaultValue(element));
+        }
+        return defaultValue(type);
+    }
+
+    //값은 상관없고 SQL 만 만들어지면 되므로 타입별 기본값, 컬렉션 파라미터는 한 건짜리 목록
+    private void bindDefaults(Query query) {
+        for (Parameter<?> parameter : query.getParameters()) {
+            Object value = defaultValue(parameter.getParameterType());
+            if (parameter instanceof QueryParameter<?> hibernateParameter && hibernateParameter.allowsMultiValuedBinding()) {
+                value = Collections.singletonList(value);
+            }
+            if (parameter.getName() != null) {
+                query.setParameter(parameter.getName(), value);
+            } else {
+                query.setParameter(parameter.getPosition(), value);
+            }
+        }
+    }
+
+    private Object defaultValue(Class<?> type) {
+        if (type == null) {
+            return null;
+        }
+        if (type == String.class) {
+            return "";
+        }
+        if (type == Long.class || type == long.class) {
+            return 0L;
+        }
+        if (type == Integer.class || type == int.class) {
+            return 0;
+        }
+        if (type == Double.class || type == double.class) {
+            return 0d;
+        }
+        if (type == BigDecimal.class) {
+            return BigDecimal.ZERO;
+        }
+        if (type == Boolean.class || type == boolean.class) {
+            return false;
+        }
+        if (type == LocalDateTime.class) {
+            return LocalDateTime.now();
+        }
+        if (type == LocalDate.class) {
+            return LocalDate.now();
+        }
+        if (type.isEnum() && type.getEnumConstants().length > 0) {
+            return type.getEnumConstants()[0];
+        }
+        return null;
+    }
+
+    record RepositoryQuery(Object repository, Class<?> domainType) {
+    }
+}
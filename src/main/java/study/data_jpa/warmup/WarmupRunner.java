@@ -0,0 +1,116 @@
+package study.data_jpa.warmup;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ApplicationContext;
+import org.springframework.stereotype.Component;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+- data-jpa.warmup.enabled=true 일 때만 - 기동 직후, 준비 완료(ApplicationReadyEvent, readiness ACCEPTING_TRAFFIC) 전에 실행
+- 1) QueryWarmer 로 리포지토리 쿼리 플랜을 미리 만들고 2) 주요 엔드포인트에 가짜 요청을 보내서 핫 경로를 JIT 컴파일되게 함
+- 요청은 주소(path)마다 돌아가면서 requests 번, 동시에 concurrency 개 - 응답 코드가 2xx 가 아니어도 멈추지 않음
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "data-jpa.warmup.enabled", havingValue = "true")
+public class WarmupRunner implements ApplicationRunner {
+
+    private final QueryWarmer queryWarmer;
+    private final ApplicationContext context;
+    private final List<String> paths;
+    private final int requests;
+    private final int concurrency;
+    private final Duration timeout;
+
+    public WarmupRunner(QueryWarmer queryWarmer, ApplicationContext context,
+                        @Value("${data-jpa.warmup.paths:/members}") List<String> paths,
+                        @Value("${data-jpa.warmup.requests:500}") int requests,
+                        @Value("${data-jpa.warmup.concurrency:4}") int concurrency,
+                        @Value("${data-jpa.warmup.timeout:5s}") Duration timeout) {
+        this.queryWarmer = queryWarmer;
+        this.context = context;
+        this.paths = paths;
+        this.requests = requests;
+        this.concurrency = Math.max(1, concurrency);
+        this.timeout = timeout;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) throws Exception {
+        long start = System.nanoTime();
+        int queries = queryWarmer.warmUp();
+        long queryMillis = (System.nanoTime() - start) / 1_000_000;
+
+        long trafficStart = System.nanoTime();
+        int[] result = traffic();
+        long trafficMillis = (System.nanoTime() - trafficStart) / 1_000_000;
+
+        log.info("warm-up 완료 - 쿼리 {}개 {}ms, 요청 {}건(실패 {}) {}ms", queries, queryMillis, result[0], result[1], trafficMillis);
+    }
+
+    //{보낸 요청 수, 실패 수}
+    private int[] traffic() throws Exception {
+        if (requests <= 0 || paths.isEmpty() || !(context instanceof WebServerApplicationContext web)) {
+            return new int[]{0, 0};
+        }
+        int port = web.getWebServer().getPort();
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(timeout)
+                .build();
+        List<HttpRequest> targets = new ArrayList<>();
+        for (String path : paths) {
+            targets.add(HttpRequest.newBuilder(URI.create("http://localhost:" + port + path.strip()))
+                    .timeout(timeout)
+                    .GET()
+                    .build());
+        }
+
+        AtomicInteger next = new AtomicInteger();
+        AtomicInteger failed = new AtomicInteger();
+        ExecutorService clients = Executors.newFixedThreadPool(concurrency);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < concurrency; i++) {
+                futures.add(clients.submit(() -> {
+                    for (int n = next.getAndIncrement(); n < requests; n = next.getAndIncrement()) {
+                        try {
+                            HttpResponse<Void> response = client.send(targets.get(n % targets.size()), HttpResponse.BodyHandlers.discarding());
+                            if (response.statusCode() / 100 != 2) {
+                                failed.incrementAndGet();
+                            }
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                            return null;
+                        } catch (Exception e) {
+                            failed.incrementAndGet();
+                        }
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            clients.shutdownNow();
+        }
+        return new int[]{Math.min(requests, next.get()), failed.get()};
+    }
+}
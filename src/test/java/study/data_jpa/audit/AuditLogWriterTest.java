@@ -0,0 +1,109 @@
+package study.data_jpa.audit;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.transaction.support.TransactionTemplate;
+import study.data_jpa.entity.Member;
+import study.data_jpa.repository.MemberRepository;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+//감사 로그는 커밋 이후에 기록되므로 @Transactional 없이 실행
+@SpringBootTest
+class AuditLogWriterTest {
+
+    @Autowired AuditLogWriter auditLogWriter;
+    @Autowired MemberRepository memberRepository;
+    @Autowired TransactionTemplate transactionTemplate;
+    @Autowired JdbcTemplate jdbcTemplate;
+    @Autowired DataSource dataSource;
+
+    @Test
+    public void recordsCommittedChanges() throws InterruptedException {
+        AuditorContext.set("auditTester");
+        try {
+            Long id = memberRepository.save(new Member("auditMember", 10)).getId();
+            transactionTemplate.executeWithoutResult(status -> memberRepository.findById(id).get().setAge(11));
+            transactionTemplate.executeWithoutResult(status -> {
+                memberRepository.findById(id).get().setAge(99);
+                status.setRollbackOnly(); //롤백된 변경은 기록하지 않음
+            });
+            memberRepository.deleteById(id);
+            auditLogWriter.flush();
+
+            List<Map<String, Object>> rows = awaitRows(id, 3); //기록 스레드가 쓰고 있는 배치가 있을 수 있음
+            //기록 스레드와 flush 가 나눠서 쓰면 id 순서는 바뀔 수 있음
+            assertThat(rows).extracting(row -> row.get("action")).containsExactlyInAnyOrder("INSERT", "UPDATE", "DELETE");
+            assertThat(rows).extracting(row -> row.get("auditor")).containsOnly("auditTester");
+            assertThat(rows).filteredOn(row -> "UPDATE".equals(row.get("action")))
+                    .extracting(row -> (String) row.get("changes"))
+                    .singleElement().asString().contains("age: 10 -> 11");
+        } finally {
+            AuditorContext.clear();
+        }
+    }
+
+    @Test
+    public void writesSynchronouslyWhenQueueIsFull() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        //큐 1칸, 기다리지 않음 - 기록 스레드가 배치를 쓰는 동안 들어온 로그는 호출한 스레드에서 바로 기록
+        AuditLogWriter writer = new AuditLogWriter(dataSource, registry, 1, 10, Duration.ofMillis(10), Duration.ZERO, 0, Duration.ofMillis(1));
+        writer.start();
+        for (long i = 0; i < 200; i++) {
+            writer.append(new AuditEvent("Backpressure", i, "INSERT", null, "system"));
+        }
+        writer.stop(); //남은 로그 기록
+
+        assertThat(count("Backpressure")).isEqualTo(200);
+        assertThat(registry.counter("audit.log.written").count()).isEqualTo(200);
+        assertThat(registry.counter("audit.log.synchronous").count()).isPositive();
+        assertThat(registry.counter("audit.log.dropped").count()).isZero();
+
+        //멈춘 뒤에 들어온 로그도 바로 기록
+        writer.append(new AuditEvent("Backpressure", 200L, "INSERT", null, "system"));
+        assertThat(count("Backpressure")).isEqualTo(201);
+    }
+
+    @Test
+    public void retriesThenCountsDroppedEventsWithoutThrowing() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        DataSource broken = new DriverManagerDataSource("jdbc:broken:audit"); //드라이버가 없어서 연결 실패
+        AuditLogWriter writer = new AuditLogWriter(broken, registry, 10, 10, Duration.ofMillis(10), Duration.ofMillis(10), 2, Duration.ofMillis(1));
+
+        //시작 전 - 호출한 스레드에서 한 번만 시도, 실패해도 예외 없음
+        writer.append(new AuditEvent("Broken", 1L, "INSERT", null, "system"));
+        assertThat(registry.counter("audit.log.dropped").count()).isEqualTo(1);
+
+        //기록 스레드 - 2번 재시도 후 유실로 집계
+        writer.start();
+        writer.append(new AuditEvent("Broken", 2L, "INSERT", null, "system"));
+        writer.stop();
+        assertThat(registry.counter("audit.log.retries").count()).isEqualTo(2);
+        assertThat(registry.counter("audit.log.dropped").count()).isEqualTo(2);
+    }
+
+    private List<Map<String, Object>> awaitRows(Long id, int expected) throws InterruptedException {
+        List<Map<String, Object>> rows = List.of();
+        for (int i = 0; i < 50 && rows.size() < expected; i++) {
+            rows = jdbcTemplate.queryForList(
+                    "select action, changes, auditor from audit_log where entity_type = 'Member' and entity_id = ? order by id", id);
+            if (rows.size() < expected) {
+                Thread.sleep(100);
+            }
+        }
+        return rows;
+    }
+
+    private long count(String entityType) {
+        return jdbcTemplate.queryForObject("select count(*) from audit_log where entity_type = ?", Long.class, entityType);
+    }
+}
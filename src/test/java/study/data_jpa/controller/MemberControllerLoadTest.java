@@ -0,0 +1,155 @@
+package study.data_jpa.controller;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import study.data_jpa.DataJpaApplication;
+import study.data_jpa.repository.MemberRepository;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+- 플랫폼 스레드(톰캣 스레드 풀) vs 가상 스레드 요청 처리 부하 테스트 - 같은 JVM 에서 앱을 두 번 띄워서 비교
+- 톰캣 스레드 수를 동시 클라이언트 수보다 작게 제한해서 스레드 부족 상황을 재현
+- 가상 스레드 모드는 Java 21 이상에서만 실행 (./gradlew benchmarkTest -PjavaVersion=21)
+- 200 이 아닌 응답(실패)은 0 이어야 함, 측정 구간의 가상 스레드 pinning(JFR jdk.VirtualThreadPinned, 20ms 이상) 횟수를 같이 출력
+ */
+@Tag("benchmark")
+class MemberControllerLoadTest {
+
+    static final int CLIENTS = 200;
+    static final int TOMCAT_THREADS = 50;
+    static final Duration WARMUP = Duration.ofSeconds(3);
+    static final Duration DURATION = Duration.ofSeconds(10);
+    static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+
+    @Test
+    public void platformVsVirtualThreads() throws Exception {
+        run(false);
+        if (Runtime.version().feature() >= 21) {
+            run(true);
+        } else {
+            System.out.println("Java " + Runtime.version().feature() + " - 가상 스레드 모드는 건너뜀");
+        }
+    }
+
+    private void run(boolean virtual) throws Exception {
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(DataJpaApplication.class)
+                .profiles("h2")
+                .run("--server.port=0",
+                        "--server.tomcat.threads.max=" + TOMCAT_THREADS,
+                        "--spring.threads.virtual.enabled=" + virtual,
+                        "--spring.datasource.url=jdbc:h2:mem:load" + virtual + ";MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1")) {
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            Long id = context.getBean(MemberRepository.class).findAll().get(0).getId();
+
+            String mode = virtual ? "virtual " : "platform";
+            System.out.println(mode + " /members      " + load(port, "/members"));
+            System.out.println(mode + " /members/{id} " + load(port, "/members/" + id));
+        }
+    }
+
+    private Result load(int port, String path) throws Exception {
+        HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + path)).GET().build();
+
+        AtomicInteger failures = new AtomicInteger();
+        drive(client, request, WARMUP, failures); //JIT, 커넥션 풀 워밍업 결과는 버림
+
+        List<Long> latencies;
+        long pinned;
+        try (Recording recording = new Recording()) {
+            recording.enable(PINNED_EVENT);
+            recording.start();
+            latencies = drive(client, request, DURATION, failures);
+            recording.stop();
+            pinned = count(recording, PINNED_EVENT);
+        }
+        assertThat(failures.get()).as(path + " 200 이 아닌 응답").isZero();
+
+        Collections.sort(latencies);
+        long p99 = latencies.isEmpty() ? 0 : latencies.get(Math.max(0, (int) Math.ceil(latencies.size() * 0.99) - 1));
+        return new Result(latencies.size() / DURATION.toSeconds(), p99 / 1_000_000.0, pinned);
+    }
+
+    private long count(Recording recording, String eventName) throws IOException {
+        Path file = Files.createTempFile("load-test", ".jfr");
+        try {
+            recording.dump(file);
+            return RecordingFile.readAllEvents(file).stream()
+                    .filter(event -> event.getEventType().getName().equals(eventName))
+                    .count();
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    //CLIENTS 개의 스레드가 duration 동안 쉬지 않고 요청, 200 응답의 응답 시간(ns) 목록 반환 (그 외 응답, 예외는 failures)
+    private List<Long> drive(HttpClient client, HttpRequest request, Duration duration, AtomicInteger failures) throws Exception {
+        ExecutorService clients = Executors.newFixedThreadPool(CLIENTS);
+        long deadline = System.nanoTime() + duration.toNanos();
+        List<Future<List<Long>>> futures = new ArrayList<>();
+        for (int i = 0; i < CLIENTS; i++) {
+            futures.add(clients.submit(() -> {
+                List<Long> latencies = new ArrayList<>();
+                while (System.nanoTime() < deadline) {
+                    long start = System.nanoTime();
+                    try {
+                        HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                        if (response.statusCode() == 200) {
+                            latencies.add(System.nanoTime() - start);
+                        } else {
+                            failures.incrementAndGet();
+                        }
+                    } catch (IOException e) {
+                        failures.incrementAndGet();
+                    }
+                }
+                return latencies;
+            }));
+        }
+        List<Long> all = new ArrayList<>();
+        for (Future<List<Long>> future : futures) {
+            all.addAll(future.get());
+        }
+        clients.shutdown();
+        return all;
+    }
+
+    private static class Result {
+        private final long requestsPerSecond;
+        private final double p99Millis;
+        private final long pinned;
+
+        private Result(long requestsPerSecond, double p99Millis, long pinned) {
+            this.requestsPerSecond = requestsPerSecond;
+            this.p99Millis = p99Millis;
+            this.pinned = pinned;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%,d req/s, p99 %.2f ms, pinned %,d", requestsPerSecond, p99Millis, pinned);
+        }
+    }
+}
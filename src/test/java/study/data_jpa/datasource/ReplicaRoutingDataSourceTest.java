@@ -0,0 +1,120 @@
+package study.data_jpa.datasource;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import study.data_jpa.entity.Member;
+import study.data_jpa.repository.MemberRepository;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+//내장 H2 DB 3개 (primary 1 + replica 2) - 어느 DB 에서 실행됐는지 select database() 로 확인
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:routing_primary;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "data-jpa.datasource.routing.enabled=true",
+        "data-jpa.datasource.routing.read-your-writes-window=5s",
+        "data-jpa.datasource.routing.replicas[0].url=" + ReplicaRoutingDataSourceTest.REPLICA0,
+        "data-jpa.datasource.routing.replicas[1].url=" + ReplicaRoutingDataSourceTest.REPLICA1
+})
+@ActiveProfiles("h2")
+class ReplicaRoutingDataSourceTest {
+
+    static final String REPLICA0 = "jdbc:h2:mem:routing_replica0;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1";
+    static final String REPLICA1 = "jdbc:h2:mem:routing_replica1;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1";
+
+    @Autowired JdbcTemplate jdbcTemplate;
+    @Autowired MemberRepository memberRepository;
+    @Autowired EntityManagerFactory emf;
+    @Autowired PlatformTransactionManager transactionManager;
+
+    TransactionTemplate readOnly;
+    TransactionTemplate readWrite;
+
+    @BeforeEach
+    public void setUp() {
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        readWrite = new TransactionTemplate(transactionManager);
+        ReadYourWrites.bind(UUID.randomUUID().toString()); //다른 테스트의 쓰기와 섞이지 않도록 테스트마다 새 클라이언트
+    }
+
+    @AfterEach
+    public void tearDown() {
+        ReadYourWrites.unbind();
+    }
+
+    @Test
+    public void readOnlyTransactionGoesToReplica() {
+        assertThat(database(readOnly)).startsWith("routing_replica");
+        assertThat(database(readWrite)).isEqualTo("routing_primary");
+    }
+
+    @Test
+    public void replicasAreUsedRoundRobin() {
+        Set<String> databases = new HashSet<>();
+        databases.add(database(readOnly));
+        databases.add(database(readOnly));
+
+        assertThat(databases).containsExactlyInAnyOrder("routing_replica0", "routing_replica1");
+    }
+
+    @Test
+    public void readYourWrites() {
+        database(readWrite); //읽기 전용이 아닌 트랜잭션 커밋
+
+        assertThat(database(readOnly)).isEqualTo("routing_primary");
+
+        ReadYourWrites.bind("other-client");
+        assertThat(database(readOnly)).startsWith("routing_replica");
+    }
+
+    //replica 에만 있는 회원 - 리포지토리의 readOnly 트랜잭션(findById)이 replica 에서 엔티티까지 읽어오는지 확인
+    @Test
+    public void repositoryReadsFromReplicaWithSchema() throws SQLException {
+        long id = 900_000_001L;
+        //트랜잭션 없이 primary 에서 읽음 (쓰기 트랜잭션을 커밋하면 read-your-writes 로 이후 읽기도 primary)
+        List<String> schema = jdbcTemplate.queryForList("script nodata", String.class);
+        for (String url : List.of(REPLICA0, REPLICA1)) {
+            try (Connection connection = DriverManager.getConnection(url, "sa", "");
+                 Statement statement = connection.createStatement()) {
+                statement.execute("drop all objects"); //컨텍스트를 재사용해도 매번 primary 스키마로 새로 만듦
+                for (String ddl : schema) {
+                    if (!ddl.startsWith("--")) { //행 수 주석
+                        statement.execute(ddl);
+                    }
+                }
+                statement.execute("insert into member (member_id, username, age, version) values (" + id + ", 'replicaOnly', 20, 0)");
+            }
+        }
+
+        try {
+            assertThat(memberRepository.findById(id)).get()
+                    .extracting(Member::getUsername)
+                    .isEqualTo("replicaOnly");
+            assertThat(jdbcTemplate.queryForObject("select count(*) from member where member_id = ?", Long.class, id)).isZero(); //primary 에는 없음
+        } finally {
+            emf.getCache().evict(Member.class, id); //2차 캐시에 남은 replica 전용 회원 제거
+        }
+    }
+
+    private String database(TransactionTemplate transactionTemplate) {
+        return transactionTemplate.execute(status ->
+                jdbcTemplate.queryForObject("select database()", String.class).toLowerCase());
+    }
+}
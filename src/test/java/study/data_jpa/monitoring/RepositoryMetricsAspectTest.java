@@ -0,0 +1,38 @@
+package study.data_jpa.monitoring;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import study.data_jpa.repository.MemberJPARepository;
+import study.data_jpa.repository.MemberRepository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+class RepositoryMetricsAspectTest {
+
+    @Autowired MeterRegistry registry;
+    @Autowired MemberRepository memberRepository;
+    @Autowired MemberJPARepository memberJPARepository;
+
+    @Test
+    public void recordInvocations() {
+        int size = memberRepository.findAll().size();
+        memberJPARepository.count();
+
+        assertThat(registry.get("repository.invocations")
+                .tag("repository", "MemberRepository")
+                .tag("method", "findAll")
+                .tag("outcome", "SUCCESS")
+                .timer().count()).isGreaterThanOrEqualTo(1);
+        assertThat(registry.get("repository.rows")
+                .tag("repository", "MemberRepository")
+                .tag("method", "findAll")
+                .summary().max()).isGreaterThanOrEqualTo(size);
+        assertThat(registry.get("repository.invocations")
+                .tag("repository", "MemberJPARepository")
+                .tag("method", "count")
+                .timer().count()).isGreaterThanOrEqualTo(1);
+    }
+}
@@ -1,9 +1,18 @@
 package study.data_jpa.repository;
 
+import org.junit.jupiter.api.Tag;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import study.data_jpa.dto.ItemImportResultDto;
 import study.data_jpa.entity.Item;
+import study.data_jpa.repository.ItemRepositoryCustom.ConflictMode;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
 
 @SpringBootTest
 class ItemRepositoryTest {
@@ -14,4 +23,55 @@ class ItemRepositoryTest {
         itemRepository.save(item);
     }
 
+    @Test
+    public void importItems() {
+        itemRepository.importItems(List.of(new Item("import-1", "first"), new Item("import-2", "second")), ConflictMode.IGNORE);
+
+        //이미 있는 id - IGNORE 는 그대로, UPSERT 는 name 갱신
+        itemRepository.importItems(List.of(new Item("import-1", "ignored"), new Item("import-3", "third")), ConflictMode.IGNORE);
+        assertThat(itemRepository.findById("import-1").get().getName()).isEqualTo("first");
+        assertThat(itemRepository.findById("import-3").get().getCreatedDate()).isNotNull();
+
+        ItemImportResultDto upsert = itemRepository.importItems(List.of(new Item("import-2", "updated")), ConflictMode.UPSERT);
+        assertThat(itemRepository.findById("import-2").get().getName()).isEqualTo("updated");
+        assertThat(upsert.getRequested()).isEqualTo(1);
+    }
+
+    //save() 반복(새 엔티티 / 다시 만든 준영속 엔티티) vs importItems - 초당 저장 행 수
+    @Test
+    @Tag("benchmark")
+    public void importVsSaveLoop() {
+        int count = 20_000;
+
+        long start = System.nanoTime();
+        for (int i = 0; i < count; i++) {
+            itemRepository.save(new Item("save-" + i, "item" + i));
+        }
+        report("save() loop  ", count, System.nanoTime() - start);
+
+        //DTO 로 다시 만든 엔티티 (createdDate 있음) - 행마다 merge 의 select + update
+        LocalDateTime createdDate = LocalDateTime.now();
+        start = System.nanoTime();
+        for (int i = 0; i < count; i++) {
+            itemRepository.save(new Item("save-" + i, "rebuilt" + i, createdDate));
+        }
+        report("save() loop detached (merge)", count, System.nanoTime() - start);
+
+        List<Item> items = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            items.add(new Item("bulk-" + i, "item" + i));
+        }
+        start = System.nanoTime();
+        itemRepository.importItems(items, ConflictMode.IGNORE);
+        report("importItems()", count, System.nanoTime() - start);
+
+        //전부 이미 있는 id - 충돌 처리 비용
+        start = System.nanoTime();
+        itemRepository.importItems(items, ConflictMode.UPSERT);
+        report("importItems() upsert (all conflicts)", count, System.nanoTime() - start);
+    }
+
+    private void report(String name, int rows, long nanos) {
+        System.out.printf("%s %,d rows, %,.0f rows/s%n", name, rows, rows / (nanos / 1_000_000_000.0));
+    }
 }
@@ -0,0 +1,107 @@
+package study.data_jpa.repository;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.transaction.support.TransactionTemplate;
+import study.data_jpa.entity.Member;
+import study.data_jpa.entity.Team;
+
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+//SQL/바인딩 로그가 켜져 있으면 로그 출력 시간이 측정값을 덮어버림
+@SpringBootTest(properties = {
+        "spring.jpa.properties.hibernate.show_sql=false",
+        "logging.level.org.hibernate.SQL=info",
+        "logging.level.org.hibernate.orm.jdbc=info",
+        "logging.level.org.hibernate.orm.jdbc.bind=info",
+        "logging.level.org.hibernate.type.descriptor.sql=info"
+})
+class MemberBulkWriterTest {
+
+    static final int CHUNK_SIZE = 1000;
+
+    @Autowired MemberBulkWriter memberBulkWriter;
+    @Autowired MemberRepository memberRepository;
+    @Autowired TransactionTemplate transactionTemplate;
+    @Autowired JdbcTemplate jdbcTemplate;
+
+    @Test
+    public void saveAll() {
+        Team team = new Team("bulkTeam");
+        memberBulkWriter.saveAllTeams(List.of(team));
+
+        List<Member> members = new ArrayList<>();
+        for (int i = 0; i < 250; i++) {
+            members.add(new Member("bulk" + i, i, team));
+        }
+
+        int saved = memberBulkWriter.saveAll(members, 100);
+
+        assertThat(saved).isEqualTo(250);
+        assertThat(members).allMatch(m -> m.getId() != null);
+        assertThat(memberRepository.findById(members.get(249).getId())).isPresent();
+    }
+
+    //save() 를 한 건씩 호출(건마다 트랜잭션 + insert 왕복) vs 같은 청크 방식에 IDENTITY 키(배치 안 됨) vs MemberBulkWriter(SEQUENCE pooled)
+    @Test
+    @Tag("benchmark")
+    public void throughput() {
+        int rows = 20_000;
+
+        long start = System.nanoTime();
+        for (int i = 0; i < rows; i++) {
+            memberRepository.save(new Member("single" + i, i % 100));
+        }
+        long singleNanos = System.nanoTime() - start;
+
+        //IDENTITY 기준선 - insert 를 실행해야 id 를 알 수 있어서 Hibernate 도 persist 마다 insert 한 번 + generated key 조회 (batch_size 무시)
+        //엔티티로 만들면 모든 테스트 컨텍스트의 스키마에 테이블이 생기므로 이 테스트가 직접 만들고 지우는 테이블에 JDBC 로 같은 방식 재현
+        jdbcTemplate.execute("create table identity_member_benchmark (id bigint auto_increment primary key, username varchar(255), age int not null)");
+        long identityNanos;
+        try {
+            start = System.nanoTime();
+            transactionTemplate.executeWithoutResult(status -> {
+                for (int i = 0; i < rows; i++) {
+                    String username = "identity" + i;
+                    int age = i % 100;
+                    GeneratedKeyHolder key = new GeneratedKeyHolder();
+                    jdbcTemplate.update(connection -> {
+                        PreparedStatement statement = connection.prepareStatement(
+                                "insert into identity_member_benchmark (username, age) values (?, ?)", Statement.RETURN_GENERATED_KEYS);
+                        statement.setString(1, username);
+                        statement.setInt(2, age);
+                        return statement;
+                    }, key);
+                }
+            });
+            identityNanos = System.nanoTime() - start;
+        } finally {
+            jdbcTemplate.execute("drop table identity_member_benchmark");
+        }
+
+        List<Member> members = new ArrayList<>();
+        for (int i = 0; i < rows; i++) {
+            members.add(new Member("bulk" + i, i % 100));
+        }
+        start = System.nanoTime();
+        memberBulkWriter.saveAll(members, CHUNK_SIZE);
+        long bulkNanos = System.nanoTime() - start;
+
+        System.out.printf("save() loop              : %,d rows/s%n", rowsPerSecond(rows, singleNanos));
+        System.out.printf("IDENTITY, row by row     : %,d rows/s%n", rowsPerSecond(rows, identityNanos));
+        System.out.printf("MemberBulkWriter         : %,d rows/s%n", rowsPerSecond(rows, bulkNanos));
+    }
+
+    private long rowsPerSecond(int rows, long nanos) {
+        return rows * 1_000_000_000L / nanos;
+    }
+}
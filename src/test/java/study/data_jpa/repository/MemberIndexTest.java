@@ -0,0 +1,99 @@
+package study.data_jpa.repository;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+import study.data_jpa.entity.Member;
+import study.data_jpa.entity.Team;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = {
+        "spring.jpa.properties.hibernate.show_sql=false",
+        "logging.level.org.hibernate.SQL=info",
+        "logging.level.org.hibernate.orm.jdbc.bind=info",
+        "logging.level.org.hibernate.type.descriptor.sql=info"
+})
+class MemberIndexTest {
+
+    @Autowired MemberRepository memberRepository;
+    @Autowired MemberBulkWriter memberBulkWriter;
+    @Autowired JdbcTemplate jdbcTemplate;
+
+    @Test
+    @Transactional
+    public void usernamePrefixSearch() {
+        memberRepository.save(new Member("prefix_b", 10));
+        memberRepository.save(new Member("prefix_a", 20));
+        memberRepository.save(new Member("prefix_a", 30));
+        memberRepository.save(new Member("prefixXa", 10)); //_ 는 like 와일드카드가 아니라 문자로 비교
+
+        List<String> usernames = memberRepository.findDistinctByUsernameStartingWithOrderByUsernameAsc("prefix_", Limit.of(10))
+                .stream().map(UsernameOnly::getUsername).toList();
+
+        assertThat(usernames).containsExactly("prefix_a", "prefix_b");
+    }
+
+    //회원 1,000,000명에서 실행 계획이 인덱스를 사용하는지 (전체 스캔이 아닌지)
+    @Test
+    @Tag("benchmark")
+    public void plannerUsesIndexesOn1MRows() {
+        int count = 1_000_000;
+        List<Team> teams = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            teams.add(new Team("indexTeam" + i));
+        }
+        memberBulkWriter.saveAllTeams(teams);
+        //team.members 에 추가하지 않도록 setTeam (changeTeam 은 100만 건을 컬렉션에 쌓음)
+        memberRepository.insertAll(() -> IntStream.range(0, count).mapToObj(i -> {
+            Member member = new Member("indexMember" + i, i % 100);
+            member.setTeam(teams.get(i % teams.size()));
+            return member;
+        }).iterator(), 1000);
+        jdbcTemplate.execute(isMySql() ? "analyze table member" : "analyze");
+
+        try {
+            assertIndexUsed("select username from member where username like 'indexMember12345%'", "idx_member_username_age");
+            assertIndexUsed("select * from member where username = 'indexMember777' and age > 10", "idx_member_username_age");
+            assertIndexUsed("select * from member where age = 42 limit 10", "idx_member_age");
+            assertIndexUsed("select * from member where team_id = " + teams.get(7).getId(), "idx_member_team_id");
+
+            long start = System.nanoTime();
+            List<UsernameOnly> result = memberRepository.findDistinctByUsernameStartingWithOrderByUsernameAsc("indexMember12345", Limit.of(10));
+            System.out.printf("prefix search on %,d rows: %d results, %.2f ms%n", count, result.size(), (System.nanoTime() - start) / 1_000_000.0);
+        } finally {
+            jdbcTemplate.update("delete from member where username like 'indexMember%'");
+            jdbcTemplate.update("delete from team where name like 'indexTeam%'");
+        }
+    }
+
+    private void assertIndexUsed(String sql, String index) {
+        String plan;
+        if (isMySql()) {
+            Map<String, Object> row = jdbcTemplate.queryForList("explain " + sql).get(0);
+            plan = row.toString();
+            assertThat(String.valueOf(row.get("type"))).as(plan).isNotEqualTo("ALL"); //ALL = 전체 스캔
+            assertThat(String.valueOf(row.get("key"))).as(plan).isEqualTo(index);
+        } else {
+            plan = jdbcTemplate.queryForObject("explain " + sql, String.class); //H2: /* public.idx_... */
+            assertThat(plan).containsIgnoringCase(index);
+        }
+        System.out.println(sql + " -> " + plan);
+    }
+
+    private boolean isMySql() {
+        ConnectionCallback<Boolean> mySql = connection ->
+                connection.getMetaData().getDatabaseProductName().toLowerCase().contains("mysql");
+        return jdbcTemplate.execute(mySql);
+    }
+}
@@ -0,0 +1,60 @@
+package study.data_jpa.repository;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import study.data_jpa.entity.Member;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+//StatelessSession 은 스프링 트랜잭션에 참여하지 않으므로 @Transactional 없이 실행하고 직접 정리
+@SpringBootTest
+class MemberRepositoryEtlTest {
+
+    @Autowired MemberRepository memberRepository;
+
+    List<Member> inserted = new ArrayList<>();
+
+    @AfterEach
+    public void cleanUp() {
+        memberRepository.deleteAllInBatch(inserted);
+    }
+
+    @Test
+    public void insertScrollTransform() {
+        for (int i = 0; i < 25; i++) {
+            inserted.add(new Member("etlMember" + i, 950));
+        }
+        assertThat(memberRepository.insertAll(inserted, 10)).isEqualTo(25);
+        assertThat(inserted).allMatch(member -> member.getId() != null);
+
+        //청크 크기를 넘지 않는 청크로 전체를 한 번씩
+        AtomicLong etlMembers = new AtomicLong();
+        long read = memberRepository.scrollAll(10, chunk -> {
+            assertThat(chunk.size()).isLessThanOrEqualTo(10);
+            etlMembers.addAndGet(chunk.stream().filter(this::isEtlMember).count());
+        });
+        assertThat(read).isEqualTo(memberRepository.count());
+        assertThat(etlMembers.get()).isEqualTo(25);
+
+        long updated = memberRepository.transformAll(10, member -> {
+            if (!isEtlMember(member)) {
+                return null;
+            }
+            member.setUsername(member.getUsername().toUpperCase());
+            return member;
+        });
+        assertThat(updated).isEqualTo(25);
+        assertThat(memberRepository.findById(inserted.get(0).getId()).get().getUsername()).isEqualTo("ETLMEMBER0");
+    }
+
+    //테이블 전체를 읽으므로 다른 테스트가 남긴 회원(username null 포함)은 건너뜀
+    private boolean isEtlMember(Member member) {
+        return member.getAge() == 950 && member.getUsername() != null && member.getUsername().startsWith("etlMember");
+    }
+}
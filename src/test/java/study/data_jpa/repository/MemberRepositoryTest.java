@@ -13,9 +13,14 @@ import org.springframework.transaction.annotation.Transactional;
 import study.data_jpa.dto.MemberDto;
 import study.data_jpa.entity.Member;
 import study.data_jpa.entity.Team;
+import study.data_jpa.monitoring.QueryBudgetExceededException;
+import study.data_jpa.monitoring.QueryCount;
+import study.data_jpa.monitoring.QueryCounter;
 
 import java.util.Arrays;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
@@ -27,6 +32,7 @@ class MemberRepositoryTest {
     // 생성자주입
     @Autowired MemberRepository memberRepository;
     @Autowired TeamRepository teamRepository;
+    @Autowired MemberSpecCompiler memberSpecCompiler;
     @PersistenceContext EntityManager em;
 
     @Test
@@ -261,6 +267,38 @@ class MemberRepositoryTest {
         Assertions.assertThat(result.size()).isEqualTo(1);
     }
     @Test
+    public void specCompiled(){
+        Team team = new Team("specTeam");
+        em.persist(team);
+        em.persist(new Member("specMember1", 10, team));
+        em.persist(new Member("specMember2", 20, team));
+        em.flush();
+        em.clear();
+
+        //when - 모양이 같고 값만 다른 조건
+        CompilableSpecification first = MemberSpec.username("specMember1").and(MemberSpec.teamName("specTeam"));
+        CompilableSpecification second = MemberSpec.username("specMember2").and(MemberSpec.teamName("specTeam"));
+        List<Member> result1 = memberRepository.findAllCompiled(first);
+        double hitRate = memberSpecCompiler.getHitRate();
+        List<Member> result2 = memberRepository.findAllCompiled(second);
+
+        //then
+        assertThat(first.getShape()).isEqualTo(second.getShape());
+        assertThat(memberSpecCompiler.compile(first)).isEqualTo(memberSpecCompiler.compile(second));
+        Assertions.assertThat(result1).extracting(Member::getUsername).containsExactly("specMember1");
+        Assertions.assertThat(result2).extracting(Member::getUsername).containsExactly("specMember2");
+        Assertions.assertThat(memberSpecCompiler.getHitRate()).isGreaterThan(hitRate);
+        Assertions.assertThat(memberRepository.findAll(first)).hasSize(1); //일반 Specification 으로도 동일
+
+        //팀 이름이 없으면 조인 없는 다른 모양
+        Assertions.assertThat(MemberSpec.username("specMember1").and(MemberSpec.teamName(null)).getShape())
+                .isNotEqualTo(first.getShape());
+
+        //값이 null 이어도 파라미터 타입은 선언된 속성 타입 - 같은 모양의 캐시된 JPQL 을 그대로 사용
+        Assertions.assertThat(MemberSpec.username(null).getTypes()).containsExactly(String.class);
+        Assertions.assertThat(memberRepository.findAllCompiled(MemberSpec.username(null))).isEmpty();
+    }
+    @Test
     public void queryByExample() throws Exception{
         Team teamA = new Team("TeamA");
         em.persist(teamA);
@@ -311,6 +349,68 @@ class MemberRepositoryTest {
 
     }
     @Test
+    public void recordProjection() {
+        Team teamA = new Team("recordTeam");
+        em.persist(teamA);
+        Member member1 = new Member("recordMember1", 0, teamA);
+        em.persist(member1);
+        em.persist(new Member("recordMember2", 0));
+
+        em.flush();
+        em.clear();
+
+        //record 는 ProjectionMapper, 인터페이스는 기존처럼 스프링 데이터 프록시
+        List<UsernameRecord> usernames = memberRepository.findProjectionsByUsername("recordMember1", UsernameRecord.class);
+        List<MemberRecord> members = memberRepository.findProjectionsByUsername("recordMember1", MemberRecord.class);
+        List<UsernameOnly> proxies = memberRepository.findProjectionsByUsername("recordMember1", UsernameOnly.class);
+
+        Assertions.assertThat(usernames).containsExactly(new UsernameRecord("recordMember1"));
+        Assertions.assertThat(members).containsExactly(new MemberRecord(member1.getId(), "recordMember1", "recordTeam"));
+        Assertions.assertThat(proxies).extracting(UsernameOnly::getUsername).containsExactly("recordMember1");
+
+        //네이티브 쿼리 - 팀이 없는 회원은 teamName null
+        List<MemberRecord> all = memberRepository.findAllNative(MemberRecord.class, Pageable.unpaged());
+        Assertions.assertThat(all).extracting(MemberRecord::username).contains("recordMember1", "recordMember2");
+        Assertions.assertThat(all).filteredOn(m -> "recordMember2".equals(m.username())) //username 이 null 인 회원이 있어도 안전
+                .extracting(MemberRecord::teamName).containsOnlyNulls();
+    }
+    @Test
+    public void findFields() {
+        Team teamA = new Team("fieldsTeam");
+        em.persist(teamA);
+        Member member1 = new Member("fieldsMember1", 0, teamA);
+        em.persist(member1);
+
+        em.flush();
+        em.clear();
+
+        Sort byUsername = Sort.by(Sort.Direction.DESC, "username");
+        MemberFields flat = MemberFields.parse("id, username,id", byUsername);
+        MemberFields nested = MemberFields.parse("username,team.name", byUsername);
+
+        //팀 필드가 없으면 조인하지 않음
+        QueryCount flatCount = QueryCounter.count(() -> memberRepository.findFields(flat, PageRequest.of(0, 2000)));
+        QueryCount nestedCount = QueryCounter.count(() -> memberRepository.findFields(nested, PageRequest.of(0, 2000)));
+        Assertions.assertThat(flat.getFields()).containsExactly("id", "username");
+        Assertions.assertThat(flatCount.getStatements().keySet()).noneMatch(sql -> sql.toLowerCase().contains("join"));
+        Assertions.assertThat(nestedCount.getStatements().keySet()).allMatch(sql -> sql.toLowerCase().contains("join"));
+
+        Map<String, Object> row = memberRepository.findFields(nested, PageRequest.of(0, 2000)).getContent().stream()
+                .filter(r -> "fieldsMember1".equals(r.get("username")))
+                .findFirst().orElseThrow();
+        Assertions.assertThat(row).containsOnlyKeys("username", "team");
+        Assertions.assertThat(row.get("team")).isEqualTo(Map.of("name", "fieldsTeam"));
+
+        Slice<Map<String, Object>> page = memberRepository.findFields(flat, PageRequest.of(0, 1));
+        Assertions.assertThat(page.getContent()).hasSize(1);
+        Assertions.assertThat(page.hasNext()).isTrue();
+
+        Assertions.assertThatThrownBy(() -> MemberFields.parse("id,version", Sort.unsorted()))
+                .isInstanceOf(IllegalArgumentException.class);
+        Assertions.assertThatThrownBy(() -> MemberFields.parse("id", Sort.by("team.members")))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+    @Test
     public void nativeQuery(){
         Team teamA = new Team("TeamA");
         em.persist(teamA);
@@ -334,4 +434,85 @@ class MemberRepositoryTest {
             System.out.println("memberProjection.getTeamName() = " + memberProjection.getTeamName());
         }
     }
+    @Test
+    public void keysetScroll(){
+        memberRepository.save(new Member("scroll1", 200));
+        memberRepository.save(new Member("scroll2", 201));
+        memberRepository.save(new Member("scroll3", 202));
+        memberRepository.save(new Member("scroll4", 203));
+        memberRepository.save(new Member("scroll5", 204));
+
+        //age 199 이후부터 시작 (다른 테스트 데이터 제외)
+        ScrollPosition start = ScrollPosition.forward(Map.of("age", 199, "id", 0L));
+
+        //when
+        Window<Member> first = memberRepository.scroll(MemberCursor.Order.AGE, start, Limit.of(2));
+        String cursor = MemberCursor.encode(MemberCursor.Order.AGE, first.positionAt(first.size() - 1));
+        MemberCursor next = MemberCursor.decode(cursor);
+        Window<Member> second = memberRepository.scroll(next.getOrder(), next.getPosition(), Limit.of(2));
+
+        //then
+        assertThat(first.size()).isEqualTo(2);
+        assertThat(first.getContent().get(0).getAge()).isEqualTo(200);
+        assertThat(first.getContent().get(1).getAge()).isEqualTo(201);
+        assertThat(first.hasNext()).isTrue();
+        assertThat(second.getContent().get(0).getAge()).isEqualTo(202);
+        assertThat(second.getContent().get(1).getAge()).isEqualTo(203);
+    }
+    @Test
+    @Rollback //username 이 null 인 회원이 공유 DB 에 남지 않도록 이 테스트만 롤백
+    public void keysetScrollNullUsername(){
+        Member first = memberRepository.save(new Member(null, 300));
+        Member second = memberRepository.save(new Member(null, 301));
+        Member third = memberRepository.save(new Member(null, 302));
+
+        //마지막 행의 username 이 null 인 cursor
+        Map<String, Object> keys = new LinkedHashMap<>();
+        keys.put("username", null);
+        keys.put("id", first.getId());
+        String cursor = MemberCursor.encode(MemberCursor.Order.USERNAME, ScrollPosition.forward(keys));
+        MemberCursor next = MemberCursor.decode(cursor);
+
+        //when
+        Window<Member> window = memberRepository.scroll(next.getOrder(), next.getPosition(), Limit.of(10));
+
+        //then - null 구간을 id 순으로 이어서 조회
+        assertThat(window.getContent()).extracting(Member::getUsername).containsOnlyNulls();
+        assertThat(window.getContent()).extracting(Member::getId).containsSubsequence(second.getId(), third.getId());
+        assertThat(MemberCursor.encode(MemberCursor.Order.USERNAME, window.positionAt(window.size() - 1))).isNotBlank();
+    }
+    @Test
+    public void detectNPlusOne(){
+        Team teamA = new Team("TeamA");
+        Team teamB = new Team("TeamB");
+        teamRepository.save(teamA);
+        teamRepository.save(teamB);
+        memberRepository.save(new Member("nplus1", 10, teamA));
+        memberRepository.save(new Member("nplus2", 10, teamB));
+        em.flush();
+        em.clear();
+
+        //when
+        QueryCount lazy = QueryCounter.count(() -> {
+            for (Member member : memberRepository.findByUsernameAndAgeGreaterThan("nplus1", 0)) {
+                member.getTeam().getName();
+            }
+            for (Member member : memberRepository.findByUsernameAndAgeGreaterThan("nplus2", 0)) {
+                member.getTeam().getName();
+            }
+        });
+        em.clear();
+        QueryCount fetchJoin = QueryCounter.count(() -> {
+            for (Member member : memberRepository.findMemberFetchJoin()) {
+                System.out.println("member.getTeam() = " + member.getTeam());
+            }
+        });
+
+        //then
+        System.out.println("lazy = " + lazy);
+        assertThat(lazy.getTotal()).isEqualTo(4); //회원 조회 2번 + 팀 지연 로딩 2번
+        Assertions.assertThatThrownBy(() -> lazy.assertNoRepeatedStatements(2))
+                .isInstanceOf(QueryBudgetExceededException.class);
+        fetchJoin.assertAtMost(1);
+    }
 }
@@ -0,0 +1,94 @@
+package study.data_jpa.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.Session;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import study.data_jpa.entity.Member;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = {
+        "spring.jpa.properties.hibernate.show_sql=false",
+        "logging.level.org.hibernate.SQL=info",
+        "logging.level.org.hibernate.orm.jdbc=info",
+        "logging.level.org.hibernate.orm.jdbc.bind=info",
+        "logging.level.org.hibernate.orm.jdbc.extract=info",
+        "logging.level.org.hibernate.type.descriptor.sql=info"
+})
+class ReadOnlyQueryTest {
+
+    @Autowired MemberRepository memberRepository;
+    @Autowired MemberBulkWriter memberBulkWriter;
+    @Autowired TransactionTemplate transactionTemplate;
+    @PersistenceContext EntityManager em;
+
+    @Test
+    @Transactional
+    public void readOnlyQueryLoadsWithoutSnapshot() {
+        Member saved = memberRepository.save(new Member("readOnlyMember", 10));
+        em.flush();
+        em.clear();
+
+        Member member = memberRepository.findAllReadOnly().stream()
+                .filter(m -> m.getId().equals(saved.getId()))
+                .findFirst()
+                .orElseThrow();
+        assertThat(em.unwrap(Session.class).isReadOnly(member)).isTrue();
+        assertThat(em.unwrap(Session.class).isDefaultReadOnly()).isFalse(); //호출이 끝나면 원래대로
+
+        member.setUsername("changed");
+        em.flush(); //dirty checking 대상이 아님
+        em.clear();
+        assertThat(memberRepository.findById(saved.getId()).get().getUsername()).isEqualTo("readOnlyMember");
+    }
+
+    //회원 100,000명을 로딩했을 때 남는 힙, flush 시간 (일반 조회 vs @ReadOnlyQuery)
+    @Test
+    @Tag("benchmark")
+    public void heapAndFlushFor100kMembers() {
+        int count = 100_000;
+        List<Member> members = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            members.add(new Member("heapMember" + i, i % 100));
+        }
+        memberBulkWriter.saveAll(members);
+        members = null;
+
+        measure("findAll (스냅샷)      ", memberRepository::findAll);
+        measure("findAllReadOnly       ", memberRepository::findAllReadOnly);
+    }
+
+    private void measure(String name, Supplier<List<Member>> loader) {
+        transactionTemplate.executeWithoutResult(status -> {
+            long before = usedHeap();
+            List<Member> loaded = loader.get();
+            long retained = usedHeap() - before;
+
+            long start = System.nanoTime();
+            em.flush();
+            long flushMillis = (System.nanoTime() - start) / 1_000_000;
+
+            System.out.printf("%s %,d members, retained %,d KB, flush %,d ms%n",
+                    name, loaded.size(), retained / 1024, flushMillis);
+            em.clear();
+        });
+    }
+
+    private long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
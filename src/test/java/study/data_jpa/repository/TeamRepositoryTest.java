@@ -0,0 +1,107 @@
+package study.data_jpa.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.Hibernate;
+import org.hibernate.Session;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.annotation.Transactional;
+import study.data_jpa.entity.Member;
+import study.data_jpa.entity.Team;
+import study.data_jpa.monitoring.QueryCount;
+import study.data_jpa.monitoring.QueryCounter;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = {
+        "spring.jpa.properties.hibernate.show_sql=false",
+        "logging.level.org.hibernate.SQL=info",
+        "logging.level.org.hibernate.orm.jdbc=info",
+        "logging.level.org.hibernate.orm.jdbc.bind=info",
+        "logging.level.org.hibernate.orm.jdbc.extract=info",
+        "logging.level.org.hibernate.type.descriptor.sql=info"
+})
+@Transactional
+class TeamRepositoryTest {
+
+    @Autowired TeamRepository teamRepository;
+    @Autowired MemberBulkWriter memberBulkWriter;
+    @PersistenceContext EntityManager em;
+
+    @Test
+    public void findTeamsWithMembers() {
+        for (int i = 0; i < 3; i++) {
+            Team team = new Team("pagingTeam" + i);
+            em.persist(team);
+            em.persist(new Member("pagingMember" + i, i, team));
+        }
+        em.flush();
+        em.clear();
+
+        //when
+        QueryCount count = QueryCounter.count(() -> {
+            Page<Team> page = teamRepository.findTeamsWithMembers(PageRequest.of(0, 2));
+            for (Team team : page) {
+                assertThat(Hibernate.isInitialized(team.getMembers())).isTrue();
+            }
+        });
+
+        //then - 팀 id 페이징 1번 + 회원 fetch join 1번 + count 1번
+        count.assertAtMost(3);
+    }
+
+    //팀 10,000개를 페이지 하나로 읽고 회원까지 접근할 때 SQL 수
+    @Test
+    @Tag("benchmark")
+    public void queryCountFor10kTeams() {
+        int teamCount = 10_000;
+        List<Team> teams = new ArrayList<>();
+        List<Member> members = new ArrayList<>();
+        for (int i = 0; i < teamCount; i++) {
+            Team team = new Team("team" + i);
+            teams.add(team);
+            members.add(new Member("member" + i, i % 100, team));
+        }
+        memberBulkWriter.saveAllTeams(teams);
+        memberBulkWriter.saveAll(members);
+        em.clear();
+
+        //batch 없이 팀마다 지연 로딩 - 이 세션에서만 default_batch_fetch_size 를 끔
+        Session session = em.unwrap(Session.class);
+        int fetchBatchSize = session.getFetchBatchSize();
+        session.setFetchBatchSize(1);
+        QueryCount unbatched = QueryCounter.count(() -> {
+            for (Team team : teamRepository.findAll(PageRequest.of(0, teamCount))) {
+                team.getMembers().size();
+            }
+        });
+        session.setFetchBatchSize(fetchBatchSize);
+        em.clear();
+        QueryCount lazy = QueryCounter.count(() -> {
+            for (Team team : teamRepository.findAll(PageRequest.of(0, teamCount))) {
+                team.getMembers().size(); //default_batch_fetch_size 만큼 묶어서 지연 로딩
+            }
+        });
+        em.clear();
+        QueryCount batched = QueryCounter.count(() -> {
+            for (Team team : teamRepository.findTeamsWithMembers(PageRequest.of(0, teamCount))) {
+                team.getMembers().size();
+            }
+        });
+
+        System.out.println("팀마다 지연 로딩(batch 없음)  : " + unbatched.getTotal() + " statements");
+        System.out.println("지연 로딩 + default_batch_fetch_size: " + lazy.getTotal() + " statements");
+        System.out.println("findTeamsWithMembers          : " + batched.getTotal() + " statements");
+        assertThat(unbatched.getTotal()).isGreaterThan(teamCount);
+        assertThat(lazy.getTotal()).isLessThan(unbatched.getTotal() / 10);
+        assertThat(batched.getTotal()).isLessThan(teamCount / 10);
+    }
+}
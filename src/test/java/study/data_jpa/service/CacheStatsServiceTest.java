@@ -0,0 +1,54 @@
+package study.data_jpa.service;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+import study.data_jpa.dto.CacheRegionStatsDto;
+import study.data_jpa.entity.Member;
+import study.data_jpa.entity.Team;
+import study.data_jpa.repository.MemberRepository;
+import study.data_jpa.repository.TeamRepository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+//2차 캐시는 트랜잭션이 끝나야 반영되므로 @Transactional 없이 호출마다 트랜잭션을 나눔
+@SpringBootTest
+class CacheStatsServiceTest {
+
+    @Autowired CacheStatsService cacheStatsService;
+    @Autowired MemberRepository memberRepository;
+    @Autowired TeamRepository teamRepository;
+    @Autowired TransactionTemplate transactionTemplate;
+
+    @Test
+    public void teamCacheHit() {
+        Team team = teamRepository.save(new Team("cacheTeam"));
+        teamRepository.findById(team.getId()); //miss 또는 put 직후 hit
+        long before = region("team").getHitCount();
+
+        teamRepository.findById(team.getId());
+        teamRepository.findById(team.getId());
+
+        assertThat(region("team").getHitCount()).isGreaterThanOrEqualTo(before + 2);
+    }
+
+    @Test
+    public void bulkUpdateEvictsMember() {
+        Member member = memberRepository.save(new Member("cacheMember", 300));
+        memberRepository.findById(member.getId()); //캐시에 적재
+
+        //벌크 연산은 영속성 컨텍스트, 2차 캐시를 거치지 않음 -> Hibernate 가 member 영역을 비움
+        transactionTemplate.executeWithoutResult(status -> memberRepository.bulkAgePlus(300));
+
+        Member findMember = memberRepository.findById(member.getId()).get();
+        assertThat(findMember.getAge()).isEqualTo(301);
+    }
+
+    private CacheRegionStatsDto region(String name) {
+        return cacheStatsService.regions().stream()
+                .filter(r -> r.getRegion().equals(name))
+                .findFirst()
+                .orElseThrow();
+    }
+}
@@ -0,0 +1,90 @@
+package study.data_jpa.service;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import study.data_jpa.entity.Member;
+import study.data_jpa.repository.MemberRepository;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+//조회가 별도 트랜잭션에서 실행되므로 @Transactional 없이 저장 후 정리
+//window, batchSize 는 테스트용 값으로 직접 생성 (properties 를 바꾸면 스프링 컨텍스트가 하나 더 뜸)
+@SpringBootTest
+class MemberBatchLoaderTest {
+
+    @Autowired MemberRepository memberRepository;
+    @Autowired PlatformTransactionManager transactionManager;
+
+    SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    ExecutorService executor = Executors.newFixedThreadPool(2);
+    MemberBatchLoader memberBatchLoader;
+
+    List<Member> saved = new ArrayList<>();
+
+    @BeforeEach
+    public void setUp() {
+        memberBatchLoader = new MemberBatchLoader(memberRepository, transactionManager, executor, registry, Duration.ofMillis(50), 20);
+    }
+
+    @AfterEach
+    public void cleanUp() {
+        memberBatchLoader.destroy();
+        executor.shutdown();
+        memberRepository.deleteAllInBatch(saved);
+    }
+
+    @Test
+    public void coalescesConcurrentLookups() throws Exception {
+        for (int i = 0; i < 30; i++) {
+            saved.add(memberRepository.save(new Member("loader" + i, 960)));
+        }
+        DistributionSummary batches = registry.get("member.batch-loader.batch.size").summary();
+
+        //30개 + 같은 id 중복 10개 + 없는 id 1개를 동시에 요청
+        List<Long> ids = new ArrayList<>();
+        saved.forEach(member -> ids.add(member.getId()));
+        for (int i = 0; i < 10; i++) {
+            ids.add(saved.get(i).getId());
+        }
+        ids.add(-1L);
+
+        ExecutorService clients = Executors.newFixedThreadPool(ids.size());
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Optional<Member>>> results = new ArrayList<>();
+        for (Long id : ids) {
+            results.add(clients.submit(() -> {
+                start.await();
+                return memberBatchLoader.findById(id);
+            }));
+        }
+        start.countDown();
+        for (int i = 0; i < ids.size(); i++) {
+            Optional<Member> member = results.get(i).get();
+            if (ids.get(i) < 0) {
+                assertThat(member).isEmpty();
+            } else {
+                assertThat(member.orElseThrow().getId()).isEqualTo(ids.get(i));
+            }
+        }
+        clients.shutdown();
+
+        //서로 다른 id 31개 -> batch-size 20 이라 최소 2번, 스레드가 늦게 시작해도 요청마다 조회(41번)보다 훨씬 적음
+        assertThat(batches.count()).isBetween(2L, 5L);
+        assertThat(batches.totalAmount()).isBetween(31.0, 41.0); //같은 id 가 다른 배치에 들어가면 중복 집계
+    }
+}
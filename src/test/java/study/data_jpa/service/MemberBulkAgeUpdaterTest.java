@@ -0,0 +1,81 @@
+package study.data_jpa.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+import study.data_jpa.dto.BulkUpdateResultDto;
+import study.data_jpa.entity.BulkJobCheckpoint;
+import study.data_jpa.entity.Member;
+import study.data_jpa.repository.BulkJobCheckpointRepository;
+import study.data_jpa.repository.MemberRepository;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+//청크마다 커밋하므로 @Transactional 없이 실행
+@SpringBootTest
+class MemberBulkAgeUpdaterTest {
+
+    @Autowired MemberBulkAgeUpdater memberBulkAgeUpdater;
+    @Autowired MemberRepository memberRepository;
+    @Autowired BulkJobCheckpointRepository checkpointRepository;
+    @Autowired TransactionTemplate transactionTemplate;
+
+    List<Member> saved = new ArrayList<>();
+
+    //age 조건이 겹치지 않도록 테스트마다 정리
+    @AfterEach
+    public void cleanUp() {
+        memberRepository.deleteAllInBatch(saved);
+    }
+
+    @Test
+    public void updatesInChunks() {
+        List<Member> members = save(700, 5);
+
+        BulkUpdateResultDto result = memberBulkAgeUpdater.agePlus("agePlus-700", 700, 2);
+
+        assertThat(result.getUpdated()).isEqualTo(5);
+        assertThat(result.getChunks()).isGreaterThan(1);
+        assertThat(result.isCompleted()).isTrue();
+        for (Member member : members) {
+            assertThat(memberRepository.findById(member.getId()).get().getAge()).isEqualTo(701);
+        }
+    }
+
+    @Test
+    public void resumesFromCheckpoint() {
+        List<Member> members = save(800, 4);
+        long crashedAt = members.get(1).getId();
+
+        //앞의 두 명까지 처리하고 중단된 상태
+        BulkJobCheckpoint checkpoint = new BulkJobCheckpoint("agePlus-800", 800, memberRepository.findMaxId());
+        transactionTemplate.executeWithoutResult(status -> memberRepository.bulkAgePlusInRange(800, 0, crashedAt));
+        checkpoint.advance(crashedAt, 2);
+        checkpointRepository.save(checkpoint);
+
+        BulkUpdateResultDto result = memberBulkAgeUpdater.agePlus("agePlus-800", 800, 1000);
+
+        assertThat(result.isResumed()).isTrue();
+        assertThat(result.getUpdated()).isEqualTo(4);
+        for (Member member : members) {
+            assertThat(memberRepository.findById(member.getId()).get().getAge()).isEqualTo(801); //두 번 증가한 회원 없음
+        }
+
+        //완료된 작업을 다시 실행하면 아무것도 수정하지 않음
+        assertThat(memberBulkAgeUpdater.agePlus("agePlus-800", 800, 1000).getChunks()).isZero();
+    }
+
+    private List<Member> save(int age, int count) {
+        List<Member> members = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            members.add(memberRepository.save(new Member("bulkMember" + age + "-" + i, age)));
+        }
+        saved.addAll(members);
+        return members;
+    }
+}
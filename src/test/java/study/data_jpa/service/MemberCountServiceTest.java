@@ -0,0 +1,108 @@
+package study.data_jpa.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.transaction.support.TransactionTemplate;
+import study.data_jpa.dto.CountedPageDto;
+import study.data_jpa.dto.MemberDto;
+import study.data_jpa.entity.Member;
+import study.data_jpa.monitoring.QueryCount;
+import study.data_jpa.monitoring.QueryCounter;
+import study.data_jpa.repository.MemberRepository;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+//카운터는 커밋 이후에 갱신되므로 @Transactional 없이 저장마다 커밋 - 다른 테스트와 나이가 겹치지 않게 하고 끝나면 정리
+@SpringBootTest
+class MemberCountServiceTest {
+
+    @Autowired MemberCountService memberCountService;
+    @Autowired MemberRepository memberRepository;
+    @Autowired TransactionTemplate transactionTemplate;
+
+    List<Member> saved = new ArrayList<>();
+
+    @AfterEach
+    public void cleanUp() {
+        memberRepository.deleteAllInBatch(saved);
+    }
+
+    @Test
+    public void approximateFollowsCommittedWrites() {
+        memberCountService.resync();
+        long before = memberCountService.approximate(1500);
+
+        Member member = save("countMember1", 1500);
+        save("countMember2", 1500);
+        assertThat(memberCountService.approximate(1500)).isEqualTo(before + 2);
+
+        memberRepository.delete(member);
+        saved.remove(member);
+        assertThat(memberCountService.approximate(1500)).isEqualTo(before + 1);
+        assertThat(memberCountService.approximate(1500)).isEqualTo(memberRepository.countByAge(1500));
+    }
+
+    //벌크 수정은 엔티티 이벤트가 없음 - BulkModificationEvent 로 다음 조회 때 재동기화
+    @Test
+    public void bulkUpdateMarksCountersStale() {
+        save("countMember5", 1510);
+        memberCountService.resync();
+        long before = memberCountService.approximate(1511);
+
+        transactionTemplate.executeWithoutResult(status -> memberRepository.bulkAgePlusInRange(1510, 0, Long.MAX_VALUE));
+
+        assertThat(memberCountService.approximate(1511)).isEqualTo(before + 1);
+        assertThat(memberCountService.approximate(1511)).isEqualTo(memberRepository.countByAge(1511));
+    }
+
+    @Test
+    public void cachedCountIsInvalidatedByWrites() {
+        long before = memberCountService.count(CountMode.EXACT, 1501);
+        save("countMember3", 1501);
+        assertThat(memberCountService.count(CountMode.CACHED, 1501)).isEqualTo(before + 1);
+
+        //두 번째 조회는 쿼리 캐시에서
+        QueryCount cached = QueryCounter.count(() -> memberCountService.count(CountMode.CACHED, 1501));
+        assertThat(cached.getTotal()).isZero();
+
+        save("countMember4", 1501);
+        assertThat(memberCountService.count(CountMode.CACHED, 1501)).isEqualTo(before + 2);
+    }
+
+    @Test
+    public void pageReportsCountMode() {
+        long before = memberCountService.count(CountMode.EXACT, 1502);
+        for (int i = 0; i < 3; i++) {
+            save("countMember" + (10 + i), 1502);
+        }
+        long expected = before + 3;
+
+        Slice<Member> slice = memberRepository.findSliceByAge(1502, PageRequest.of(0, 2));
+        CountedPageDto<MemberDto> none = memberCountService.page(slice, MemberDto::new, CountMode.NONE, 1502);
+        CountedPageDto<MemberDto> approximate = memberCountService.page(slice, MemberDto::new, CountMode.APPROXIMATE, 1502);
+
+        assertThat(none.isHasNext()).isTrue();
+        assertThat(none.getTotalElements()).isNull();
+        assertThat(approximate.getTotalElements()).isEqualTo(expected);
+        assertThat(approximate.isTotalExact()).isFalse();
+
+        //첫 페이지에서 끝나면 count 쿼리 없이 정확한 값
+        Slice<Member> all = memberRepository.findSliceByAge(1502, PageRequest.of(0, 1000));
+        CountedPageDto<MemberDto> exact = memberCountService.page(all, MemberDto::new, CountMode.APPROXIMATE, 1502);
+        assertThat(exact.getTotalElements()).isEqualTo(expected);
+        assertThat(exact.isTotalExact()).isTrue();
+    }
+
+    private Member save(String username, int age) {
+        Member member = memberRepository.save(new Member(username, age));
+        saved.add(member);
+        return member;
+    }
+}
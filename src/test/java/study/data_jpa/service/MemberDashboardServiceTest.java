@@ -0,0 +1,28 @@
+package study.data_jpa.service;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import study.data_jpa.dto.MemberDashboardDto;
+import study.data_jpa.repository.MemberRepository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+//병렬 조회는 다른 스레드의 트랜잭션에서 실행되므로 테스트 트랜잭션(@Transactional) 없이 커밋된 데이터로 확인
+@SpringBootTest
+class MemberDashboardServiceTest {
+
+    @Autowired MemberDashboardService memberDashboardService;
+    @Autowired MemberRepository memberRepository;
+
+    @Test
+    public void dashboard() {
+        MemberDashboardDto dashboard = memberDashboardService.dashboard(10, PageRequest.of(0, 5));
+
+        assertThat(dashboard.getTotalMembers()).isEqualTo(memberRepository.count());
+        assertThat(dashboard.getMembers().getContent().size()).isLessThanOrEqualTo(5);
+        assertThat(dashboard.getAgeDistribution().stream().mapToLong(a -> a.getCount()).sum())
+                .isEqualTo(dashboard.getTotalMembers());
+    }
+}
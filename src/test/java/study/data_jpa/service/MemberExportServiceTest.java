@@ -0,0 +1,71 @@
+package study.data_jpa.service;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import study.data_jpa.repository.MemberRepository;
+
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+//./gradlew memoryTest -> 힙 128m 에서 실행, 전체를 List 로 읽으면 OutOfMemoryError 가 나는 건수
+@Tag("memory")
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:file:./build/h2/export;MODE=MySQL;DATABASE_TO_LOWER=TRUE;LAZY_QUERY_EXECUTION=1")
+@ActiveProfiles("h2")
+class MemberExportServiceTest {
+
+    static final int ROWS = 500_000;
+
+    @Autowired MemberExportService memberExportService;
+    @Autowired MemberRepository memberRepository;
+    @Autowired JdbcTemplate jdbcTemplate;
+
+    @Test
+    public void exportLargeTable() throws Exception {
+        //given
+        List<Object[]> batch = new ArrayList<>();
+        for (int i = 0; i < ROWS; i++) {
+            batch.add(new Object[]{1_000_000L + i, "export" + i, i % 100});
+            if (batch.size() == 10_000) {
+                jdbcTemplate.batchUpdate("insert into member (member_id, username, age) values (?, ?, ?)", batch);
+                batch.clear();
+            }
+        }
+
+        //when
+        CountingOutputStream out = new CountingOutputStream();
+        long exported = memberExportService.exportNdjson(out);
+
+        //then
+        assertThat(exported).isEqualTo(memberRepository.count());
+        assertThat(out.lines).isEqualTo(exported);
+        System.out.println("exported = " + exported + ", bytes = " + out.bytes);
+    }
+
+    //출력 내용은 버리고 줄 수와 바이트 수만 셈
+    static class CountingOutputStream extends OutputStream {
+        long lines;
+        long bytes;
+
+        @Override
+        public void write(int b) {
+            bytes++;
+            if (b == '\n') {
+                lines++;
+            }
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            for (int i = off; i < off + len; i++) {
+                write(b[i]);
+            }
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package study.data_jpa.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import study.data_jpa.entity.Member;
+import study.data_jpa.monitoring.QueryCount;
+import study.data_jpa.monitoring.QueryCounter;
+import study.data_jpa.repository.MemberRepository;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+//병렬 조회는 별도 트랜잭션에서 실행되므로 @Transactional 없이 저장 후 정리
+@SpringBootTest
+class MemberMultiKeyLookupTest {
+
+    @Autowired MemberRepository memberRepository;
+    @Autowired PlatformTransactionManager transactionManager;
+
+    List<Member> saved = new ArrayList<>();
+
+    @AfterEach
+    public void cleanUp() {
+        memberRepository.deleteAllInBatch(saved);
+    }
+
+    @Test
+    public void chunksAndPadsInClause() {
+        save(10);
+        MemberMultiKeyLookup lookup = new MemberMultiKeyLookup(memberRepository, transactionManager, Runnable::run, 4, 1, 100);
+
+        //역순 + 중복 + 없는 id
+        List<Long> ids = new ArrayList<>();
+        for (int i = saved.size() - 1; i >= 0; i--) {
+            ids.add(saved.get(i).getId());
+        }
+        ids.add(saved.get(0).getId());
+        ids.add(-1L);
+
+        AtomicReference<List<Member>> result = new AtomicReference<>();
+        QueryCount count = QueryCounter.count(() -> result.set(lookup.findByIds(ids)));
+
+        assertThat(result.get()).extracting(Member::getId).containsExactlyElementsOf(ids.subList(0, saved.size()));
+        //키 11개 -> 4, 4, 3 개 청크 3번, 3개는 4개로 패딩되어 SQL 은 한 종류
+        assertThat(count.getTotal()).isEqualTo(3);
+        assertThat(count.getStatements()).hasSize(1);
+    }
+
+    @Test
+    public void parallelChunksKeepRequestOrder() {
+        save(10);
+        ExecutorService executor = Executors.newFixedThreadPool(3);
+        try {
+            MemberMultiKeyLookup lookup = new MemberMultiKeyLookup(memberRepository, transactionManager, executor, 2, 3, 100);
+
+            List<String> usernames = List.of("multiKey7", "multiKey2", "none", "multiKey9", "multiKey0", "multiKey2");
+            assertThat(lookup.findByUsernames(usernames)).extracting(Member::getUsername)
+                    .containsExactly("multiKey7", "multiKey2", "multiKey9", "multiKey0");
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void rejectsTooManyKeys() {
+        MemberMultiKeyLookup lookup = new MemberMultiKeyLookup(memberRepository, transactionManager, Runnable::run, 4, 1, 3);
+
+        assertThatThrownBy(() -> lookup.findByIds(List.of(1L, 2L, 3L, 4L)))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private void save(int count) {
+        for (int i = 0; i < count; i++) {
+            saved.add(memberRepository.save(new Member("multiKey" + i, 970)));
+        }
+    }
+}
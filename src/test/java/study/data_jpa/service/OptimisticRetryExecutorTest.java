@@ -0,0 +1,132 @@
+package study.data_jpa.service;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+import study.data_jpa.entity.Member;
+import study.data_jpa.entity.Team;
+import study.data_jpa.repository.MemberRepository;
+import study.data_jpa.repository.TeamRepository;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongConsumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+//시도마다 커밋해야 충돌이 나므로 @Transactional 없이 실행
+//벤치마크는 16개 스레드가 5명을 수정하므로 기본값(5번)보다 재시도를 넉넉하게
+@SpringBootTest(properties = {
+        "data-jpa.optimistic-retry.max-attempts=100",
+        "spring.jpa.properties.hibernate.show_sql=false",
+        "logging.level.org.hibernate.SQL=info",
+        "logging.level.org.hibernate.orm.jdbc.bind=info",
+        "logging.level.org.hibernate.type.descriptor.sql=info"
+})
+class OptimisticRetryExecutorTest {
+
+    @Autowired OptimisticRetryExecutor optimisticRetryExecutor;
+    @Autowired MemberRepository memberRepository;
+    @Autowired TeamRepository teamRepository;
+    @Autowired TransactionTemplate transactionTemplate;
+
+    @Test
+    public void retriesAfterConcurrentUpdate() {
+        Long id = memberRepository.save(new Member("optimisticMember", 10)).getId();
+        AtomicInteger attempts = new AtomicInteger();
+
+        optimisticRetryExecutor.execute(status -> {
+            Member member = memberRepository.findById(id).get();
+            if (attempts.incrementAndGet() == 1) {
+                //첫 시도가 커밋하기 전에 다른 트랜잭션이 먼저 수정
+                CompletableFuture.runAsync(() -> transactionTemplate.executeWithoutResult(
+                        s -> memberRepository.findById(id).get().setAge(20))).join();
+            }
+            member.setAge(member.getAge() + 1);
+            return member;
+        });
+
+        assertThat(attempts.get()).isEqualTo(2);
+        assertThat(memberRepository.findById(id).get().getAge()).isEqualTo(21); //다른 트랜잭션의 수정을 덮어쓰지 않음
+    }
+
+    @Test
+    public void addingMemberDoesNotBumpTeamVersion() {
+        Team team = teamRepository.save(new Team("versionTeam"));
+        Long version = teamRepository.findById(team.getId()).get().getVersion();
+
+        //changeTeam 이 team.members(연관관계 주인이 아닌 쪽)에 추가해도 팀 version 은 그대로 -> 같은 팀 동시 수정과 충돌하지 않음
+        Member member = transactionTemplate.execute(status ->
+                memberRepository.save(new Member("versionMember", 10, teamRepository.findById(team.getId()).get())));
+        try {
+            assertThat(teamRepository.findById(team.getId()).get().getVersion()).isEqualTo(version);
+        } finally {
+            memberRepository.deleteById(member.getId());
+            teamRepository.deleteById(team.getId());
+        }
+    }
+
+    //THREADS 개 스레드가 HOT_MEMBERS 명의 나이를 동시에 +1 - 비관적 락(findLockByUsername) vs 낙관적 락 + 재시도
+    static final int THREADS = 16;
+    static final int HOT_MEMBERS = 5;
+    static final int UPDATES_PER_THREAD = 200;
+
+    @Test
+    @Tag("benchmark")
+    public void pessimisticVsOptimistic() throws Exception {
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < HOT_MEMBERS; i++) {
+            ids.add(memberRepository.save(new Member("hotMember" + i, 0)).getId());
+        }
+
+        System.out.println("pessimistic " + run(index -> transactionTemplate.executeWithoutResult(status -> {
+            Member member = memberRepository.findLockByUsername("hotMember" + index).get(0);
+            member.setAge(member.getAge() + 1);
+        })));
+        System.out.println("optimistic  " + run(index -> optimisticRetryExecutor.execute(status -> {
+            Member member = memberRepository.findById(ids.get((int) index)).get();
+            member.setAge(member.getAge() + 1);
+            return member;
+        })));
+
+        int total = ids.stream().mapToInt(id -> memberRepository.findById(id).get().getAge()).sum();
+        assertThat(total).isEqualTo(2 * THREADS * UPDATES_PER_THREAD); //두 방식 모두 유실된 수정 없음
+    }
+
+    private String run(LongConsumer update) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        List<Future<List<Long>>> futures = new ArrayList<>();
+        long start = System.nanoTime();
+        for (int t = 0; t < THREADS; t++) {
+            futures.add(executor.submit(() -> {
+                List<Long> latencies = new ArrayList<>();
+                for (int i = 0; i < UPDATES_PER_THREAD; i++) {
+                    long begin = System.nanoTime();
+                    update.accept(ThreadLocalRandom.current().nextInt(HOT_MEMBERS));
+                    latencies.add(System.nanoTime() - begin);
+                }
+                return latencies;
+            }));
+        }
+        List<Long> all = new ArrayList<>();
+        for (Future<List<Long>> future : futures) {
+            all.addAll(future.get());
+        }
+        long elapsed = System.nanoTime() - start;
+        executor.shutdown();
+
+        Collections.sort(all);
+        long p99 = all.get(Math.max(0, (int) Math.ceil(all.size() * 0.99) - 1));
+        return String.format("%,.0f updates/s, p99 %.2f ms",
+                all.size() / (elapsed / 1_000_000_000.0), p99 / 1_000_000.0);
+    }
+}
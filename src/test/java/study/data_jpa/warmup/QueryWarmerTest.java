@@ -0,0 +1,70 @@
+package study.data_jpa.warmup;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.QueryStatistics;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.jpa.repository.Modifying;
+import study.data_jpa.entity.Member;
+import study.data_jpa.repository.MemberRepository;
+
+import java.lang.reflect.Method;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+class QueryWarmerTest {
+
+    @Autowired QueryWarmer queryWarmer;
+    @Autowired MemberRepository memberRepository;
+    @Autowired EntityManagerFactory emf;
+
+    @Test
+    public void collectsAndExecutesQueries() {
+        assertThat(queryWarmer.repositoryQueries().keySet()).extracting(Method::getName)
+                .contains("findMemberDTO", "findByAge") //findByAge 는 countQuery 까지
+                .doesNotContain("findByNativeQuery"); //네이티브 제외
+        assertThat(queryWarmer.repositoryQueries().keySet())
+                .noneMatch(method -> method.isAnnotationPresent(Modifying.class)); //@Modifying 제외
+        assertThat(queryWarmer.namedQueries()).contains("Member.findByUsername");
+
+        //@Query 메서드 + NamedQuery 가 모두 기본값 인자로 실행됨
+        int expected = queryWarmer.repositoryQueries().size() + queryWarmer.namedQueries().size();
+        assertThat(queryWarmer.warmUp()).isEqualTo(expected);
+    }
+
+    @Test
+    public void readsAtMostOneRowPerQuery() {
+        List<Member> saved = memberRepository.saveAll(List.of(new Member("warmer1", 10), new Member("warmer2", 10)));
+        Statistics statistics = emf.unwrap(SessionFactory.class).getStatistics();
+        try {
+            statistics.clear();
+            queryWarmer.warmUp();
+
+            //회원이 여러 명이어도 findAllReadOnly, findMemberFetchJoin 등 모든 쿼리가 실행마다 최대 1건
+            assertThat(statistics.getQueries()).isNotEmpty();
+            for (String query : statistics.getQueries()) {
+                QueryStatistics queryStatistics = statistics.getQueryStatistics(query);
+                assertThat(queryStatistics.getExecutionRowCount()).as(query).isLessThanOrEqualTo(queryStatistics.getExecutionCount());
+            }
+        } finally {
+            memberRepository.deleteAllInBatch(saved);
+        }
+    }
+
+    @Test
+    public void repositoryCallHitsPlanCacheAfterWarmUp() {
+        Statistics statistics = emf.unwrap(SessionFactory.class).getStatistics();
+        queryWarmer.warmUp();
+
+        long hits = statistics.getQueryPlanCacheHitCount();
+        memberRepository.findMemberDTO();
+
+        //워밍업이 만든 플랜을 실제 리포지토리 호출이 그대로 재사용
+        assertThat(statistics.getQueryPlanCacheHitCount()).isGreaterThan(hits);
+    }
+}
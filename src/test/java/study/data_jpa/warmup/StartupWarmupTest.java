@@ -0,0 +1,121 @@
+package study.data_jpa.warmup;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import study.data_jpa.DataJpaApplication;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+- 워밍업 끄고 / 켜고 기동 -> 준비 완료(readiness)까지 걸린 시간, 준비 직후 첫 요청 지연시간 비교
+- JIT, 클래스 로딩 상태가 섞이지 않도록 매번 새 JVM 으로 앱을 띄움 (H2, ./gradlew benchmarkTest)
+ */
+@Tag("benchmark")
+class StartupWarmupTest {
+
+    static final List<String> PATHS = List.of("/members", "/members/by-age", "/members/projections", "/members/search?prefix=user");
+    static final Duration STARTUP_TIMEOUT = Duration.ofMinutes(2);
+
+    HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+
+    @Test
+    public void readyTimeAndFirstRequestLatency() throws Exception {
+        Result cold = launch(false);
+        Result warm = launch(true);
+
+        System.out.println("warm-up off: " + cold);
+        System.out.println("warm-up on : " + warm);
+        assertThat(warm.firstRequestMillis).containsOnlyKeys(PATHS);
+    }
+
+    private Result launch(boolean warmup) throws Exception {
+        int port = freePort();
+        List<String> command = new ArrayList<>(List.of(
+                System.getProperty("java.home") + File.separator + "bin" + File.separator + "java",
+                "-cp", System.getProperty("java.class.path"),
+                DataJpaApplication.class.getName(),
+                "--spring.profiles.active=h2",
+                "--server.port=" + port,
+                "--spring.datasource.url=jdbc:h2:mem:warmup;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+                "--management.endpoint.health.probes.enabled=true", //readiness 는 ApplicationRunner 가 끝난 뒤 UP
+                "--data-jpa.warmup.enabled=" + warmup,
+                "--data-jpa.warmup.paths=" + String.join(",", PATHS)));
+        Process process = new ProcessBuilder(command).redirectErrorStream(true)
+                .redirectOutput(ProcessBuilder.Redirect.DISCARD)
+                .start();
+        try {
+            long start = System.nanoTime();
+            awaitReady(port);
+            long readyMillis = (System.nanoTime() - start) / 1_000_000;
+
+            Map<String, Double> firstRequest = new LinkedHashMap<>();
+            for (String path : PATHS) {
+                firstRequest.put(path, get(port, path));
+            }
+            return new Result(readyMillis, firstRequest);
+        } finally {
+            process.destroy();
+            process.waitFor();
+        }
+    }
+
+    private void awaitReady(int port) throws Exception {
+        long deadline = System.nanoTime() + STARTUP_TIMEOUT.toNanos();
+        HttpRequest readiness = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/actuator/health/readiness")).GET().build();
+        while (System.nanoTime() < deadline) {
+            try {
+                if (client.send(readiness, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+                    return;
+                }
+            } catch (IOException e) {
+                //아직 톰캣이 뜨지 않음
+            }
+            Thread.sleep(20);
+        }
+        throw new IllegalStateException("앱이 " + STARTUP_TIMEOUT + " 안에 준비되지 않았습니다");
+    }
+
+    //응답 시간(ms)
+    private double get(int port, String path) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + path)).GET().build();
+        long start = System.nanoTime();
+        client.send(request, HttpResponse.BodyHandlers.discarding());
+        return (System.nanoTime() - start) / 1_000_000.0;
+    }
+
+    private int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    private static class Result {
+        private final long readyMillis;
+        private final Map<String, Double> firstRequestMillis;
+
+        private Result(long readyMillis, Map<String, Double> firstRequestMillis) {
+            this.readyMillis = readyMillis;
+            this.firstRequestMillis = firstRequestMillis;
+        }
+
+        @Override
+        public String toString() {
+            StringBuilder builder = new StringBuilder(String.format("ready %,d ms", readyMillis));
+            firstRequestMillis.forEach((path, millis) -> builder.append(String.format(", %s %.2f ms", path, millis)));
+            return builder.toString();
+        }
+    }
+}